@@ -0,0 +1,34 @@
+package com.vgt.tournaments.benchmarks;
+
+import com.vgt.tournaments.domain.Tournament;
+import com.vgt.tournaments.repositories.TournamentRepository;
+
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+
+/**
+ * In-memory stand-ins for the Spring Data repositories, so benchmarks measure the service
+ * code and not H2.
+ */
+public final class StubRepositories {
+
+  private StubRepositories() {
+  }
+
+  /**
+   * {@code save} returns its argument and {@code findById} always returns {@code stored}.
+   */
+  public static TournamentRepository tournamentRepository(Tournament stored) {
+    Optional<Tournament> found = Optional.of(stored);
+    return (TournamentRepository) Proxy.newProxyInstance(TournamentRepository.class.getClassLoader(),
+        new Class<?>[]{TournamentRepository.class},
+        (proxy, method, args) -> switch (method.getName()) {
+          case "save" -> args[0];
+          case "findById" -> found;
+          case "hashCode" -> System.identityHashCode(proxy);
+          case "equals" -> proxy == args[0];
+          case "toString" -> "StubTournamentRepository";
+          default -> throw new UnsupportedOperationException(method.getName());
+        });
+  }
+}
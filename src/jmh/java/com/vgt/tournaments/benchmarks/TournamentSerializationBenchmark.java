@@ -0,0 +1,68 @@
+package com.vgt.tournaments.benchmarks;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.vgt.tournaments.domain.Tournament;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson encoding and decoding of the tournament lists the listing endpoints return, in each of
+ * the formats they negotiate. The mappers are configured like the application's, and the payload
+ * size of every format is printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TournamentSerializationBenchmark {
+
+  @Param({"1000", "10000", "100000"})
+  public int size;
+
+  @Param({"json", "cbor", "smile"})
+  public String format;
+
+  private ObjectWriter writer;
+  private ObjectReader reader;
+  private List<Tournament> tournaments;
+  private byte[] encoded;
+
+  @Setup
+  public void setup() throws Exception {
+    ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().factory(factory(format)).build();
+    writer = mapper.writerFor(List.class);
+    reader = mapper.readerForListOf(Tournament.class);
+    tournaments = Tournaments.tournaments(size);
+    encoded = writer.writeValueAsBytes(tournaments);
+    System.out.printf("%n%s payload of %d tournaments: %d bytes%n", format, size, encoded.length);
+  }
+
+  @Benchmark
+  public byte[] serializeList() throws Exception {
+    return writer.writeValueAsBytes(tournaments);
+  }
+
+  @Benchmark
+  public List<Tournament> deserializeList() throws Exception {
+    return reader.readValue(encoded);
+  }
+
+  private static JsonFactory factory(String format) {
+    return switch (format) {
+      case "json" -> new JsonFactory();
+      case "cbor" -> new CBORFactory();
+      case "smile" -> new SmileFactory();
+      default -> throw new IllegalArgumentException("Unknown format " + format);
+    };
+  }
+}
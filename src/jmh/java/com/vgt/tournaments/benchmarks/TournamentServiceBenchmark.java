@@ -0,0 +1,99 @@
+package com.vgt.tournaments.benchmarks;
+
+import com.vgt.tournaments.domain.Tournament;
+import com.vgt.tournaments.domain.enums.TournamentStatus;
+import com.vgt.tournaments.dto.CreateTournamentDto;
+import com.vgt.tournaments.dto.UpdateTournamentDto;
+import com.vgt.tournaments.services.TournamentService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service hot paths against a stub repository: creation, update, a creation rejected by the
+ * validation chain and the Lombok {@code toBuilder()} copy that every update goes through.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TournamentServiceBenchmark {
+
+  private TournamentService tournamentService;
+  private Tournament stored;
+  private CreateTournamentDto createDto;
+  private CreateTournamentDto rejectedDto;
+  private UpdateTournamentDto updateDto;
+  private LocalDate startDate;
+
+  @Setup
+  public void setup() {
+    stored = Tournament.builder()
+        .id(1L)
+        .name("juan camilo")
+        .gameTitle("second tournament")
+        .maxPlayers(5)
+        .startDate(LocalDate.now().toEpochDay())
+        .status(TournamentStatus.UPCOMING)
+        .build();
+
+    tournamentService = new TournamentService(StubRepositories.tournamentRepository(stored), event -> {
+    });
+    startDate = LocalDate.now().plusDays(7);
+
+    createDto = CreateTournamentDto.builder()
+        .name("juan")
+        .gameTitle("first tournament")
+        .maxPlayers(16)
+        .startDate(startDate)
+        .build();
+
+    rejectedDto = CreateTournamentDto.builder()
+        .name("juan")
+        .gameTitle("first tournament")
+        .maxPlayers(1)
+        .startDate(startDate)
+        .build();
+
+    updateDto = UpdateTournamentDto.builder()
+        .name("juan")
+        .gameTitle("first tournament")
+        .maxPlayers(16)
+        .startDate(startDate)
+        .status(TournamentStatus.UPCOMING)
+        .build();
+  }
+
+  @Benchmark
+  public Tournament create() {
+    return tournamentService.create(createDto);
+  }
+
+  @Benchmark
+  public Tournament update() {
+    return tournamentService.update(1L, updateDto);
+  }
+
+  @Benchmark
+  public Object createRejected() {
+    try {
+      return tournamentService.create(rejectedDto);
+    } catch (IllegalArgumentException e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public Tournament toBuilderCopy() {
+    return stored.toBuilder()
+        .name("juan")
+        .gameTitle("first tournament")
+        .maxPlayers(16)
+        .startDate(startDate.toEpochDay())
+        .status(TournamentStatus.UPCOMING)
+        .build();
+  }
+}
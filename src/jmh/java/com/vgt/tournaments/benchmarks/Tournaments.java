@@ -0,0 +1,33 @@
+package com.vgt.tournaments.benchmarks;
+
+import com.vgt.tournaments.domain.Tournament;
+import com.vgt.tournaments.domain.enums.TournamentStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class Tournaments {
+
+  private Tournaments() {
+  }
+
+  public static Tournament tournament(long id) {
+    return Tournament.builder()
+        .id(id)
+        .name("Tournament " + id)
+        .gameTitle("Game " + (id % 50))
+        .maxPlayers(64)
+        .startDate(LocalDate.now().toEpochDay() + id % 365)
+        .status(TournamentStatus.values()[(int) (id % 3)])
+        .build();
+  }
+
+  public static List<Tournament> tournaments(int size) {
+    List<Tournament> tournaments = new ArrayList<>(size);
+    for (int i = 1; i <= size; i++) {
+      tournaments.add(tournament(i));
+    }
+    return tournaments;
+  }
+}
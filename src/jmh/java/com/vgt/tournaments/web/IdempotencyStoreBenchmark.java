@@ -0,0 +1,55 @@
+package com.vgt.tournaments.web;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cost the idempotency store adds to a create request: no key at all, a fresh key (every first
+ * attempt) and a retried key answered from the store.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdempotencyStoreBenchmark {
+
+  private static final String REQUEST = "create tournament";
+
+  private final AtomicLong keys = new AtomicLong();
+  private IdempotencyStore store;
+
+  @Setup
+  public void setup() {
+    store = new IdempotencyStore(100_000, Duration.ofHours(1));
+    store.execute("POST /api/tournaments", "retried", REQUEST, () -> "created");
+  }
+
+  @Benchmark
+  public String withoutKey() {
+    return store.execute("POST /api/tournaments", null, REQUEST, () -> "created");
+  }
+
+  @Benchmark
+  @Threads(4)
+  public String firstAttempt() {
+    return store.execute("POST /api/tournaments", Long.toString(keys.incrementAndGet()), REQUEST, () -> "created");
+  }
+
+  @Benchmark
+  @Threads(4)
+  public String retry() {
+    return store.execute("POST /api/tournaments", "retried", REQUEST, () -> "created");
+  }
+
+  @Benchmark
+  @Threads(4)
+  public String keyOnly() {
+    // Baseline for firstAttempt: building the key without touching the store
+    return Long.toString(keys.incrementAndGet());
+  }
+}
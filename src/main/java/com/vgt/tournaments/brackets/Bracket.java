@@ -0,0 +1,22 @@
+package com.vgt.tournaments.brackets;
+
+/**
+ * A generated bracket kept as flat primitive arrays.
+ *
+ * @param bracketSize  number of first round slots, byes included
+ * @param seeds        player ids ordered from the first seed to the last one
+ * @param firstRound   first round pairings flattened as {@code [a0, b0, a1, b1, ...]}, {@link #BYE} for a bye
+ * @param rounds       matches per round of the main (winners) bracket, or per Swiss round
+ * @param losersRounds matches per losers bracket round, empty unless the format is double elimination
+ */
+public record Bracket(
+    BracketFormat format,
+    int bracketSize,
+    long[] seeds,
+    long[] firstRound,
+    int[] rounds,
+    int[] losersRounds
+) {
+
+  public static final long BYE = -1L;
+}
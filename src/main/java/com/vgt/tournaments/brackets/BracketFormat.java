@@ -0,0 +1,5 @@
+package com.vgt.tournaments.brackets;
+
+public enum BracketFormat {
+  SINGLE_ELIMINATION, DOUBLE_ELIMINATION, SWISS
+}
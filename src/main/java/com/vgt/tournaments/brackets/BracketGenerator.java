@@ -0,0 +1,112 @@
+package com.vgt.tournaments.brackets;
+
+import java.util.Arrays;
+
+/**
+ * Builds seeded brackets from player ids already sorted by seed. Everything is computed on
+ * primitive arrays sized up front, so a bracket costs a handful of allocations whatever the
+ * number of players.
+ */
+public final class BracketGenerator {
+
+  private BracketGenerator() {
+  }
+
+  public static Bracket generate(BracketFormat format, long[] seeds) {
+    if (seeds.length < 2) {
+      throw new IllegalArgumentException("The minimum number of players is 2");
+    }
+    return switch (format) {
+      case SINGLE_ELIMINATION -> singleElimination(seeds);
+      case DOUBLE_ELIMINATION -> doubleElimination(seeds);
+      case SWISS -> swiss(seeds);
+    };
+  }
+
+  static Bracket singleElimination(long[] seeds) {
+    int size = bracketSize(seeds.length);
+    return new Bracket(BracketFormat.SINGLE_ELIMINATION, size, seeds, eliminationFirstRound(seeds, size),
+        eliminationRounds(size), new int[0]);
+  }
+
+  static Bracket doubleElimination(long[] seeds) {
+    int size = bracketSize(seeds.length);
+    int winnersRounds = Integer.numberOfTrailingZeros(size);
+
+    // Every winners round but the final feeds two losers rounds: one among the losers
+    // themselves and one against the players dropping from the next winners round
+    int[] losersRounds = new int[2 * (winnersRounds - 1)];
+    for (int i = 0; i < losersRounds.length; i++) {
+      losersRounds[i] = size >>> (i / 2 + 2);
+    }
+
+    // The grand final is appended to the winners rounds
+    int[] rounds = new int[winnersRounds + 1];
+    System.arraycopy(eliminationRounds(size), 0, rounds, 0, winnersRounds);
+    rounds[winnersRounds] = 1;
+
+    return new Bracket(BracketFormat.DOUBLE_ELIMINATION, size, seeds, eliminationFirstRound(seeds, size),
+        rounds, losersRounds);
+  }
+
+  static Bracket swiss(long[] seeds) {
+    int players = seeds.length;
+    int size = players + (players & 1);
+    int half = size / 2;
+
+    // First round pairs the top half against the bottom half, the last seed gets the bye
+    long[] firstRound = new long[size];
+    for (int i = 0; i < half; i++) {
+      firstRound[2 * i] = seeds[i];
+      firstRound[2 * i + 1] = i + half < players ? seeds[i + half] : Bracket.BYE;
+    }
+
+    int[] rounds = new int[32 - Integer.numberOfLeadingZeros(players - 1)];
+    Arrays.fill(rounds, half);
+
+    return new Bracket(BracketFormat.SWISS, size, seeds, firstRound, rounds, new int[0]);
+  }
+
+  /**
+   * Standard seeding order: every round the highest remaining seed meets the lowest one, so the
+   * top two seeds can only meet in the final. Missing seeds become byes for the top seeds.
+   */
+  private static long[] eliminationFirstRound(long[] seeds, int size) {
+    int[] order = seedOrder(size);
+    long[] firstRound = new long[size];
+    for (int slot = 0; slot < size; slot++) {
+      int seed = order[slot];
+      firstRound[slot] = seed < seeds.length ? seeds[seed] : Bracket.BYE;
+    }
+    return firstRound;
+  }
+
+  static int[] seedOrder(int size) {
+    int[] order = new int[size];
+    int[] next = new int[size];
+    int length = 1;
+    while (length < size) {
+      for (int i = 0; i < length; i++) {
+        next[2 * i] = order[i];
+        next[2 * i + 1] = 2 * length - 1 - order[i];
+      }
+      int[] swap = order;
+      order = next;
+      next = swap;
+      length *= 2;
+    }
+    return order;
+  }
+
+  private static int[] eliminationRounds(int size) {
+    int[] rounds = new int[Integer.numberOfTrailingZeros(size)];
+    for (int i = 0; i < rounds.length; i++) {
+      rounds[i] = size >>> (i + 1);
+    }
+    return rounds;
+  }
+
+  private static int bracketSize(int players) {
+    return Integer.highestOneBit(players - 1) << 1;
+  }
+}
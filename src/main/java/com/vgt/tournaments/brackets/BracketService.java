@@ -0,0 +1,43 @@
+package com.vgt.tournaments.brackets;
+
+import com.vgt.tournaments.domain.Tournament;
+import com.vgt.tournaments.repositories.PlayerRepository;
+import com.vgt.tournaments.services.TournamentService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Slf4j
+@Service
+public class BracketService {
+
+  private final TournamentService tournamentService;
+  private final PlayerRepository playerRepository;
+
+  public BracketService(TournamentService tournamentService, PlayerRepository playerRepository) {
+    this.tournamentService = tournamentService;
+    this.playerRepository = playerRepository;
+  }
+
+  public Bracket generate(Long tournamentId, BracketFormat format) {
+
+    log.info("Generating {} bracket for tournament {}", format, tournamentId);
+
+    if (format == null) {
+      throw new IllegalArgumentException("The bracket format is required");
+    }
+
+    Tournament tournament = tournamentService.findById(tournamentId);
+
+    // Seeds follow the registration order, only the ids are loaded
+    List<Long> playerIds = playerRepository.findPlayerIdsInSeedOrder(tournament.getId());
+
+    long[] seeds = new long[playerIds.size()];
+    for (int i = 0; i < seeds.length; i++) {
+      seeds[i] = playerIds.get(i);
+    }
+
+    return BracketGenerator.generate(format, seeds);
+  }
+}
@@ -0,0 +1,53 @@
+package com.vgt.tournaments.config;
+
+import com.vgt.tournaments.web.AdmissionControlInterceptor;
+import com.vgt.tournaments.web.GcraRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Puts the {@link AdmissionControlInterceptor} in front of {@code /api/**}. Limits are per client
+ * (the remote address, or {@code tournaments.admission.client-header} when a gateway sets one)
+ * and per endpoint. The concurrency limit defaults to the size of the JDBC pool and may not exceed
+ * it, otherwise requests would queue for a connection instead of being shed.
+ */
+@Configuration
+@ConditionalOnProperty(name = "tournaments.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlConfig implements WebMvcConfigurer {
+
+  private final AdmissionControlInterceptor admissionControlInterceptor;
+
+  public AdmissionControlConfig(AdmissionControlInterceptor admissionControlInterceptor) {
+    this.admissionControlInterceptor = admissionControlInterceptor;
+  }
+
+  @Bean
+  static AdmissionControlInterceptor admissionControlInterceptor(MeterRegistry meterRegistry,
+      @Value("${tournaments.admission.read-rate:200}") double readRate,
+      @Value("${tournaments.admission.read-burst:400}") int readBurst,
+      @Value("${tournaments.admission.write-rate:20}") double writeRate,
+      @Value("${tournaments.admission.write-burst:40}") int writeBurst,
+      @Value("${tournaments.admission.max-clients:100000}") long maxClients,
+      @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+      @Value("${tournaments.admission.max-concurrent:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrent,
+      @Value("${tournaments.admission.client-header:}") String clientHeader) {
+    if (maxConcurrent > poolSize) {
+      throw new IllegalStateException("tournaments.admission.max-concurrent (" + maxConcurrent
+          + ") can not exceed spring.datasource.hikari.maximum-pool-size (" + poolSize + ")");
+    }
+    return new AdmissionControlInterceptor(
+        new GcraRateLimiter(readRate, readBurst, maxClients, System::nanoTime),
+        new GcraRateLimiter(writeRate, writeBurst, maxClients, System::nanoTime),
+        maxConcurrent, clientHeader, meterRegistry);
+  }
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry.addInterceptor(admissionControlInterceptor).addPathPatterns("/api/**");
+  }
+}
@@ -0,0 +1,32 @@
+package com.vgt.tournaments.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * CBOR ({@code application/cbor}) and Smile ({@code application/x-jackson-smile}) for the clients
+ * that ask for them in {@code Accept} or send them as {@code Content-Type}. JSON stays the default.
+ * <p>
+ * Both mappers come from Boot's {@link Jackson2ObjectMapperBuilder}, so they serialize the entities
+ * and DTOs exactly as the JSON one does, with the same modules and {@code spring.jackson.*}
+ * settings. Boot puts these beans where the MVC defaults for the same formats would go, after the
+ * JSON converter, so a request without a preference still gets JSON.
+ */
+@Configuration
+public class BinaryFormatsConfig {
+
+  @Bean
+  MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+    return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+  }
+
+  @Bean
+  MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+    return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+  }
+}
@@ -0,0 +1,156 @@
+package com.vgt.tournaments.config;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.vgt.tournaments.domain.enums.TournamentStatus;
+import com.vgt.tournaments.events.DataImportedEvent;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.entry.CacheEntry;
+import org.hibernate.cache.spi.support.AbstractReadWriteAccess;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.io.Serializable;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level and query cache, kept in process by Caffeine's JCache provider. The
+ * regions are created here, Hibernate is configured to fail on any other one.
+ * <p>
+ * Tournament entries expire per entry: a FINISHED tournament does not change anymore and is kept
+ * for {@code finished-ttl}, any other one only for {@code active-ttl}. Hibernate keeps the cache
+ * in step with its own writes, the TTLs bound how long a change made behind its back can be seen.
+ * Hit ratios are published by Hibernate's statistics as {@code hibernate.second.level.cache.*} and
+ * {@code hibernate.cache.query.*} metrics.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+  public static final String TOURNAMENT_REGION = "tournament";
+  public static final String PLAYER_REGION = "player";
+  public static final String PLAYERS_BY_TOURNAMENT_REGION = "players-by-tournament";
+
+  // Created by Hibernate itself once the query cache is enabled
+  static final String DEFAULT_QUERY_RESULTS_REGION = "default-query-results-region";
+  static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+  // Looked up lazily, the factory itself is built with the customizer below
+  private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+  public SecondLevelCacheConfig(ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+    this.entityManagerFactory = entityManagerFactory;
+  }
+
+  @Bean(destroyMethod = "close")
+  CacheManager hibernateCacheManager(
+      @Value("${tournaments.l2-cache.tournaments.maximum-size:10000}") long tournaments,
+      @Value("${tournaments.l2-cache.tournaments.finished-ttl:PT12H}") Duration finishedTtl,
+      @Value("${tournaments.l2-cache.tournaments.active-ttl:PT30S}") Duration activeTtl,
+      @Value("${tournaments.l2-cache.players.maximum-size:100000}") long players,
+      @Value("${tournaments.l2-cache.players.ttl:PT10M}") Duration playersTtl,
+      @Value("${tournaments.l2-cache.queries.maximum-size:10000}") long queries,
+      @Value("${tournaments.l2-cache.queries.ttl:PT5M}") Duration queriesTtl) {
+
+    // A manager of its own per application context, so these regions never mix with the Spring
+    // caches nor with those of another context running in the same JVM
+    CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+        .getCacheManager(URI.create("hibernate-l2-" + UUID.randomUUID()), getClass().getClassLoader());
+
+    cacheManager.createCache(TOURNAMENT_REGION, region(tournaments, new TournamentExpiry(finishedTtl, activeTtl)));
+    cacheManager.createCache(PLAYER_REGION, region(players, new FixedExpiry(playersTtl)));
+    cacheManager.createCache(PLAYERS_BY_TOURNAMENT_REGION, region(queries, new FixedExpiry(queriesTtl)));
+    cacheManager.createCache(DEFAULT_QUERY_RESULTS_REGION, region(queries, new FixedExpiry(queriesTtl)));
+    // Query results are only valid while the timestamps of their tables are known, so these never expire
+    cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, new CaffeineConfiguration<>().setStoreByValue(false));
+    return cacheManager;
+  }
+
+  @Bean
+  HibernatePropertiesCustomizer secondLevelCacheManager(CacheManager hibernateCacheManager) {
+    return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+  }
+
+  /**
+   * Imports insert with plain JDBC, which Hibernate does not see, so cached query results could
+   * miss the new rows. Entities are not affected, imports only add rows.
+   */
+  @EventListener
+  public void onImported(DataImportedEvent event) {
+    entityManagerFactory.getObject().unwrap(SessionFactory.class).getCache().evictQueryRegions();
+  }
+
+  private static CaffeineConfiguration<Object, Object> region(long maximumSize, Expiry<Object, Object> expiry) {
+    CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+    configuration.setMaximumSize(OptionalLong.of(maximumSize));
+    configuration.setExpiryFactory(Optional.of(() -> expiry));
+    // Hibernate stores immutable disassembled state, copying it on every access would only cost
+    configuration.setStoreByValue(false);
+    configuration.setStatisticsEnabled(true);
+    return configuration;
+  }
+
+  private record FixedExpiry(Duration ttl) implements Expiry<Object, Object>, Serializable {
+
+    @Override
+    public long expireAfterCreate(Object key, Object value, long currentTime) {
+      return ttl.toNanos();
+    }
+
+    @Override
+    public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+      return ttl.toNanos();
+    }
+
+    @Override
+    public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+
+  /**
+   * Reads the status out of the cached state. Entries being written are soft locks with no state,
+   * they get the short TTL.
+   */
+  record TournamentExpiry(Duration finishedTtl, Duration activeTtl) implements Expiry<Object, Object>, Serializable {
+
+    @Override
+    public long expireAfterCreate(Object key, Object value, long currentTime) {
+      return ttl(value).toNanos();
+    }
+
+    @Override
+    public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+      return ttl(value).toNanos();
+    }
+
+    @Override
+    public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+
+    Duration ttl(Object value) {
+      Object entry = value instanceof AbstractReadWriteAccess.Item item ? item.getValue() : value;
+      if (entry instanceof CacheEntry cacheEntry) {
+        for (Serializable property : cacheEntry.getDisassembledState()) {
+          if (property == TournamentStatus.FINISHED) {
+            return finishedTtl;
+          }
+        }
+      }
+      return activeTtl;
+    }
+  }
+}
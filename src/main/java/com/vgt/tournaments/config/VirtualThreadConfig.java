@@ -0,0 +1,32 @@
+package com.vgt.tournaments.config;
+
+import com.vgt.tournaments.web.JdbcBulkheadFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Extra wiring for {@code spring.threads.virtual.enabled=true} (see the {@code virtual-threads}
+ * profile). Tomcat, the task executors and the schedulers switch to virtual threads on their own,
+ * this only adds the JDBC bulkhead in front of the API.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+  @Bean
+  FilterRegistrationBean<JdbcBulkheadFilter> jdbcBulkheadFilter(
+      @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+      @Value("${tournaments.virtual-threads.jdbc-permit-timeout:PT5S}") Duration timeout) {
+
+    FilterRegistrationBean<JdbcBulkheadFilter> registration =
+        new FilterRegistrationBean<>(new JdbcBulkheadFilter(poolSize, timeout));
+    registration.addUrlPatterns("/api/*");
+    return registration;
+  }
+}
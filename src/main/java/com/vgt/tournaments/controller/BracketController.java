@@ -0,0 +1,28 @@
+package com.vgt.tournaments.controller;
+
+import com.vgt.tournaments.brackets.Bracket;
+import com.vgt.tournaments.brackets.BracketService;
+import com.vgt.tournaments.dto.GenerateBracketDto;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+public class BracketController {
+
+  private final BracketService bracketService;
+
+  public BracketController(BracketService bracketService) {
+    this.bracketService = bracketService;
+  }
+
+  @PostMapping("/api/tournaments/{id}/bracket")
+  @ResponseStatus(HttpStatus.OK)
+  public Bracket generate(@PathVariable Long id, @RequestBody GenerateBracketDto dto) {
+    try {
+      return bracketService.generate(id, dto.format());
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+  }
+}
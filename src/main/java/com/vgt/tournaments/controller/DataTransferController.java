@@ -0,0 +1,68 @@
+package com.vgt.tournaments.controller;
+
+import com.vgt.tournaments.dto.DataImportResult;
+import com.vgt.tournaments.transfer.DataExporter;
+import com.vgt.tournaments.transfer.DataFormat;
+import com.vgt.tournaments.transfer.DataImporter;
+import com.vgt.tournaments.transfer.DataSet;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+
+@RestController
+public class DataTransferController {
+
+  private final DataExporter dataExporter;
+  private final DataImporter dataImporter;
+
+  public DataTransferController(DataExporter dataExporter, DataImporter dataImporter) {
+    this.dataExporter = dataExporter;
+    this.dataImporter = dataImporter;
+  }
+
+  // The rows are written after the handler returns, straight from the cursor to the response
+  @GetMapping("/api/export/{dataSet}")
+  public ResponseEntity<StreamingResponseBody> export(@PathVariable("dataSet") String dataSet,
+      @RequestParam(name = "format", defaultValue = "ndjson") String format) {
+    DataSet exported;
+    DataFormat dataFormat;
+    try {
+      exported = DataSet.of(dataSet);
+      dataFormat = DataFormat.of(format);
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+
+    String fileName = exported.name().toLowerCase(Locale.ROOT) + "." + dataFormat.name().toLowerCase(Locale.ROOT);
+    return ResponseEntity.ok()
+        .contentType(dataFormat.mediaType())
+        .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+        .body(out -> dataExporter.export(exported, dataFormat, out));
+  }
+
+  @PostMapping("/api/import")
+  public DataImportResult importRows(@RequestParam("dataSet") String dataSet,
+      @RequestHeader(name = HttpHeaders.CONTENT_TYPE, defaultValue = "application/x-ndjson") String contentType,
+      InputStream body) throws IOException {
+    try {
+      return new DataImportResult(dataImporter.importRows(DataSet.of(dataSet),
+          DataFormat.of(MediaType.parseMediaType(contentType)), body));
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+  }
+}
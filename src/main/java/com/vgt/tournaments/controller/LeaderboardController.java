@@ -0,0 +1,45 @@
+package com.vgt.tournaments.controller;
+
+import com.vgt.tournaments.dto.LeaderboardEntry;
+import com.vgt.tournaments.dto.RecordMatchResultDto;
+import com.vgt.tournaments.leaderboards.LeaderboardService;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+@RestController
+public class LeaderboardController {
+
+  private final LeaderboardService leaderboardService;
+
+  public LeaderboardController(LeaderboardService leaderboardService) {
+    this.leaderboardService = leaderboardService;
+  }
+
+  @GetMapping("/api/leaderboards/{gameTitle}")
+  public List<LeaderboardEntry> top(@PathVariable String gameTitle,
+      @RequestParam(name = "limit", defaultValue = "10") int limit) {
+    try {
+      return leaderboardService.top(gameTitle, limit);
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+  }
+
+  @GetMapping("/api/leaderboards/{gameTitle}/players/{playerId}")
+  public LeaderboardEntry findEntry(@PathVariable String gameTitle, @PathVariable Long playerId) {
+    return leaderboardService.findEntry(gameTitle, playerId);
+  }
+
+  @PostMapping("/api/leaderboards/results")
+  @ResponseStatus(HttpStatus.CREATED)
+  public List<LeaderboardEntry> recordResult(@RequestBody RecordMatchResultDto dto) {
+    try {
+      return leaderboardService.recordResult(dto);
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+  }
+}
@@ -1,25 +1,97 @@
 package com.vgt.tournaments.controller;
 
 import com.vgt.tournaments.domain.Player;
+import com.vgt.tournaments.domain.enums.TournamentStatus;
 import com.vgt.tournaments.dto.CreatePlayerDto;
 import com.vgt.tournaments.services.PlayerService;
+import com.vgt.tournaments.services.RegistrationPipeline;
+import com.vgt.tournaments.services.TournamentService;
+import com.vgt.tournaments.web.FinishedResponseCache;
+import com.vgt.tournaments.web.FinishedResponseCache.Resource;
+import com.vgt.tournaments.web.FinishedResponseCache.Snapshot;
+import com.vgt.tournaments.web.IdempotencyStore;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 public class PlayerController {
     private final PlayerService playerService;
+    private final RegistrationPipeline registrationPipeline;
+    private final IdempotencyStore idempotencyStore;
+    private final TournamentService tournamentService;
+    private final FinishedResponseCache finishedResponses;
 
-    public PlayerController(PlayerService playerService) {
+    public PlayerController(PlayerService playerService, Optional<RegistrationPipeline> registrationPipeline,
+                            IdempotencyStore idempotencyStore, TournamentService tournamentService,
+                            FinishedResponseCache finishedResponses) {
         this.playerService = playerService;
+        this.registrationPipeline = registrationPipeline.orElse(null);
+        this.idempotencyStore = idempotencyStore;
+        this.tournamentService = tournamentService;
+        this.finishedResponses = finishedResponses;
     }
 
     @PostMapping("/api/players")
     @ResponseStatus(HttpStatus.CREATED)
-    public Player create(@RequestBody CreatePlayerDto dto) {
-        return playerService.create(dto);
+    public CompletableFuture<Player> create(@RequestBody CreatePlayerDto dto,
+                                            @RequestHeader(name = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        try {
+            return idempotencyStore.executeAsync("POST /api/players", idempotencyKey, dto, () -> register(dto))
+                    .exceptionallyCompose(e -> CompletableFuture.failedFuture(toResponseStatus(e)));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, e.getMessage());
+        }
+    }
+
+    @PostMapping("/api/players/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    public List<Player> createBatch(@RequestBody List<CreatePlayerDto> dtos) {
+        try {
+            return playerService.createBatch(dtos);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @GetMapping("/api/tournaments/{id}/players")
+    public ResponseEntity<?> findRoster(@PathVariable("id") Long tournamentId, NativeWebRequest request) {
+        return finishedResponses.serve(Resource.ROSTER, tournamentId, request, () -> {
+            // Read before the roster, a tournament finishing in between moves the generation anyway
+            boolean finished = tournamentService.findById(tournamentId).getStatus() == TournamentStatus.FINISHED;
+            return new Snapshot(playerService.findRoster(tournamentId), null, finished);
+        });
+    }
+
+    private CompletableFuture<Player> register(CreatePlayerDto dto) {
+        if (registrationPipeline == null) {
+            return CompletableFuture.completedFuture(playerService.create(dto));
+        }
+        return registrationPipeline.submit(dto);
+    }
+
+    private static Throwable toResponseStatus(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return switch (cause) {
+            case IllegalArgumentException e -> new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+            // Only the registration pipeline fails with it, when its queue is full
+            case IllegalStateException e -> new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+            default -> cause;
+        };
     }
 }
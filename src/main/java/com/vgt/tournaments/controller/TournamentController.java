@@ -1,29 +1,74 @@
 package com.vgt.tournaments.controller;
 
 import com.vgt.tournaments.domain.Tournament;
+import com.vgt.tournaments.domain.enums.TournamentStatus;
 import com.vgt.tournaments.dto.CreateTournamentDto;
+import com.vgt.tournaments.dto.PatchTournamentDto;
+import com.vgt.tournaments.dto.TournamentFilter;
+import com.vgt.tournaments.dto.TournamentPage;
+import com.vgt.tournaments.dto.TournamentPatchResult;
+import com.vgt.tournaments.dto.TournamentPurgeResult;
 import com.vgt.tournaments.dto.UpdateTournamentDto;
+import com.vgt.tournaments.events.TournamentEventBroadcaster;
+import com.vgt.tournaments.services.TournamentListVersion;
+import com.vgt.tournaments.services.TournamentPurger;
 import com.vgt.tournaments.services.TournamentService;
+import com.vgt.tournaments.web.FinishedResponseCache;
+import com.vgt.tournaments.web.FinishedResponseCache.Resource;
+import com.vgt.tournaments.web.FinishedResponseCache.Snapshot;
+import com.vgt.tournaments.web.IdempotencyStore;
+import com.vgt.tournaments.web.ResponseFormats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
 public class TournamentController {
 
   private final TournamentService tournamentService;
+  private final TournamentPurger tournamentPurger;
+  private final TournamentEventBroadcaster eventBroadcaster;
+  private final TournamentListVersion listVersion;
+  private final IdempotencyStore idempotencyStore;
+  private final FinishedResponseCache finishedResponses;
+  private final ResponseFormats responseFormats;
+  private final boolean unpagedListingEnabled;
 
-  public TournamentController(TournamentService tournamentService) {
+  public TournamentController(TournamentService tournamentService, TournamentPurger tournamentPurger,
+      TournamentEventBroadcaster eventBroadcaster,
+      TournamentListVersion listVersion, IdempotencyStore idempotencyStore,
+      FinishedResponseCache finishedResponses, ResponseFormats responseFormats,
+      @Value("${tournaments.listing.unpaged-enabled:false}") boolean unpagedListingEnabled) {
     this.tournamentService = tournamentService;
+    this.tournamentPurger = tournamentPurger;
+    this.eventBroadcaster = eventBroadcaster;
+    this.listVersion = listVersion;
+    this.idempotencyStore = idempotencyStore;
+    this.finishedResponses = finishedResponses;
+    this.responseFormats = responseFormats;
+    this.unpagedListingEnabled = unpagedListingEnabled;
   }
 
   @PostMapping("/api/tournaments")
   @ResponseStatus(HttpStatus.CREATED)
-  public Tournament create(@RequestBody CreateTournamentDto dto) {
-    return tournamentService.create(dto);
+  public Tournament create(@RequestBody CreateTournamentDto dto,
+      @RequestHeader(name = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+    try {
+      return idempotencyStore.execute("POST /api/tournaments", idempotencyKey, dto, () -> tournamentService.create(dto));
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+    } catch (IllegalStateException e) {
+      throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, e.getMessage());
+    }
   }
 
   @PutMapping("/api/tournaments/{id}")
@@ -32,14 +77,75 @@ public class TournamentController {
     return tournamentService.update(id, dto);
   }
 
+  @PatchMapping("/api/tournaments/{id}")
+  public TournamentPatchResult patch(@PathVariable("id") Long id, @RequestBody PatchTournamentDto dto) {
+    try {
+      return tournamentService.patch(id, dto);
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+  }
+
   @GetMapping("/api/tournaments")
-  public List<Tournament> findAll() {
+  public TournamentPage findPage(
+      @RequestParam(name = "afterId", required = false) Long afterId,
+      @RequestParam(name = "size", defaultValue = "50") int size,
+      @RequestParam(name = "status", required = false) TournamentStatus status,
+      @RequestParam(name = "gameTitle", required = false) String gameTitle,
+      @RequestParam(name = "startDateFrom", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDateFrom,
+      @RequestParam(name = "startDateTo", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDateTo,
+      NativeWebRequest request) {
+
+    // The version is read before the query so a concurrent change can only make the tag stale, never too new
+    if (responseFormats.checkNotModified(listVersion.current(), request)) {
+      return null;
+    }
+
+    TournamentFilter filter = TournamentFilter.builder()
+        .status(status)
+        .gameTitle(gameTitle)
+        .startDateFrom(startDateFrom)
+        .startDateTo(startDateTo)
+        .build();
+    try {
+      return tournamentService.findPage(afterId, size, filter);
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+  }
+
+  // Legacy unbounded listing, only served when explicitly enabled in the configuration
+  @GetMapping(value = "/api/tournaments", params = "unpaged=true")
+  public List<Tournament> findAll(NativeWebRequest request) {
+    if (!unpagedListingEnabled) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The unpaged listing is disabled");
+    }
+    if (responseFormats.checkNotModified(listVersion.current(), request)) {
+      return null;
+    }
     return tournamentService.findAll();
   }
 
   @GetMapping("/api/tournaments/{id}")
-  public Tournament findById(@PathVariable Long id) {
-    return tournamentService.findById(id);
+  public ResponseEntity<?> findById(@PathVariable Long id, NativeWebRequest request) {
+    // Finished tournaments are answered with their encoded bytes. The others come from the
+    // tournaments cache when possible, so a 304 costs neither a query nor serialization
+    return finishedResponses.serve(Resource.TOURNAMENT, id, request, () -> {
+      Tournament tournament = tournamentService.findById(id);
+      // Recounting the registered players leaves the version alone, so the tag carries both
+      return new Snapshot(tournament, tournament.getVersion() + "." + tournament.getRegisteredPlayers(),
+          tournament.getStatus() == TournamentStatus.FINISHED);
+    });
+  }
+
+  @GetMapping(value = "/api/tournaments/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter events(@PathVariable Long id) {
+    tournamentService.findById(id);
+    try {
+      return eventBroadcaster.subscribe(id);
+    } catch (IllegalStateException e) {
+      throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+    }
   }
 
   @DeleteMapping("/api/tournaments/{id}")
@@ -51,4 +157,15 @@ public class TournamentController {
       throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
     }
   }
+
+  @DeleteMapping("/api/tournaments")
+  public TournamentPurgeResult purge(
+      @RequestParam(name = "status") TournamentStatus status,
+      @RequestParam(name = "before") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate before) {
+    try {
+      return tournamentPurger.purge(status, before);
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+  }
 }
@@ -0,0 +1,31 @@
+package com.vgt.tournaments.controller;
+
+import com.vgt.tournaments.dto.TournamentSuggestion;
+import com.vgt.tournaments.search.TournamentSearchService;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+@RestController
+public class TournamentSearchController {
+
+  private final TournamentSearchService tournamentSearchService;
+
+  public TournamentSearchController(TournamentSearchService tournamentSearchService) {
+    this.tournamentSearchService = tournamentSearchService;
+  }
+
+  @GetMapping("/api/tournaments/search")
+  public List<TournamentSuggestion> search(@RequestParam(name = "prefix", required = false) String prefix,
+      @RequestParam(name = "limit", defaultValue = "10") int limit) {
+    try {
+      return tournamentSearchService.search(prefix, limit);
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,21 @@
+package com.vgt.tournaments.controller;
+
+import com.vgt.tournaments.dto.TournamentStats;
+import com.vgt.tournaments.services.TournamentStatistics;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class TournamentStatsController {
+
+  private final TournamentStatistics tournamentStatistics;
+
+  public TournamentStatsController(TournamentStatistics tournamentStatistics) {
+    this.tournamentStatistics = tournamentStatistics;
+  }
+
+  @GetMapping("/api/tournaments/stats")
+  public TournamentStats stats() {
+    return tournamentStatistics.stats();
+  }
+}
@@ -6,15 +6,25 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 @Builder(toBuilder = true)
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "player")
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "player")
+@Table(name = "player", indexes = {
+    // Covers the roster, the player count and the seed order of a tournament
+    @Index(name = "idx_player_tournament", columnList = "tournament_id, registration_date, id")
+})
 public class Player {
+  // Pooled sequence ids let Hibernate batch inserts, IDENTITY forces one insert per round-trip
   @Id
-  @GeneratedValue(strategy= GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "player_seq")
+  @SequenceGenerator(name = "player_seq", sequenceName = "player_seq", allocationSize = 50)
   @Column(name = "id")
   private Long id ;
 
@@ -0,0 +1,35 @@
+package com.vgt.tournaments.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Builder(toBuilder = true)
+@Entity
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "player_rating", uniqueConstraints =
+    @UniqueConstraint(name = "uk_player_rating_game_player", columnNames = {"game_title", "player_id"}))
+public class PlayerRating {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = "id")
+  private Long id;
+
+  @Column(name = "game_title", length = 500)
+  private String gameTitle;
+
+  @Column(name = "player_id")
+  private Long playerId;
+
+  @Column(name = "rating")
+  private double rating;
+
+  @Column(name = "matches")
+  private int matches;
+
+}
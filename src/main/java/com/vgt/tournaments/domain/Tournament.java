@@ -6,13 +6,22 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 @Builder(toBuilder = true)
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tournament")
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "tournament")
+@Table(name = "tournament", indexes = {
+    @Index(name = "idx_tournament_status", columnList = "status, id"),
+    @Index(name = "idx_tournament_game_title", columnList = "game_title, id"),
+    @Index(name = "idx_tournament_start_date", columnList = "start_date, id")
+})
 public class Tournament {
 
   @Id
@@ -36,6 +45,15 @@ public class Tournament {
   @Column(name = "status")
   private TournamentStatus status;
 
+  @Version
+  @Column(name = "version")
+  private Long version;
+
+  // Recounted out of band by RegisteredPlayersCounter, never written from the entity
+  @ColumnDefault("0")
+  @Column(name = "registered_players", insertable = false, updatable = false)
+  private int registeredPlayers;
+
   public boolean isStarted() {
     return status == TournamentStatus.STARTED;
   }
@@ -0,0 +1,5 @@
+package com.vgt.tournaments.dto;
+
+public record DataImportResult(
+    long rows
+) {}
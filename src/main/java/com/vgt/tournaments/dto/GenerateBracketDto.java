@@ -0,0 +1,10 @@
+package com.vgt.tournaments.dto;
+
+import com.vgt.tournaments.brackets.BracketFormat;
+import lombok.Builder;
+
+@Builder
+
+public record GenerateBracketDto(
+    BracketFormat format
+) {}
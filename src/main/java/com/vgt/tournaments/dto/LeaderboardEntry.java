@@ -0,0 +1,8 @@
+package com.vgt.tournaments.dto;
+
+public record LeaderboardEntry(
+    int rank,
+    Long playerId,
+    double rating,
+    int matches
+) {}
@@ -0,0 +1,18 @@
+package com.vgt.tournaments.dto;
+
+import com.vgt.tournaments.domain.enums.TournamentStatus;
+import lombok.Builder;
+
+import java.time.LocalDate;
+
+/**
+ * Partial update of a tournament, {@code null} fields are left unchanged.
+ */
+@Builder
+public record PatchTournamentDto(
+    String name,
+    String gameTitle,
+    Integer maxPlayers,
+    LocalDate startDate,
+    TournamentStatus status
+) {}
@@ -0,0 +1,12 @@
+package com.vgt.tournaments.dto;
+
+import lombok.Builder;
+
+@Builder
+
+public record RecordMatchResultDto(
+    Long tournamentId,
+    Long winnerId,
+    Long loserId,
+    boolean draw
+) {}
@@ -0,0 +1,15 @@
+package com.vgt.tournaments.dto;
+
+import com.vgt.tournaments.domain.enums.TournamentStatus;
+import lombok.Builder;
+
+import java.time.LocalDate;
+
+@Builder
+
+public record TournamentFilter(
+    TournamentStatus status,
+    String gameTitle,
+    LocalDate startDateFrom,
+    LocalDate startDateTo
+) {}
@@ -0,0 +1,14 @@
+package com.vgt.tournaments.dto;
+
+import com.vgt.tournaments.domain.Tournament;
+
+import java.util.List;
+
+/**
+ * One keyset page of tournaments. {@code nextCursor} is the id to pass as
+ * {@code afterId} to fetch the following page, or {@code null} on the last page.
+ */
+public record TournamentPage(
+    List<Tournament> items,
+    Long nextCursor
+) {}
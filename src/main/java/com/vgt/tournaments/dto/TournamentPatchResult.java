@@ -0,0 +1,11 @@
+package com.vgt.tournaments.dto;
+
+/**
+ * Outcome of a partial update. {@code applied} is {@code false} when nothing was written: the patch
+ * had no fields, or no row matched because the tournament does not exist, has already started or
+ * has more players than the new maximum.
+ */
+public record TournamentPatchResult(
+    Long id,
+    boolean applied
+) {}
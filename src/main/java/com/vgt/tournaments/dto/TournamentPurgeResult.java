@@ -0,0 +1,9 @@
+package com.vgt.tournaments.dto;
+
+/**
+ * What a bulk purge removed: the tournaments and, with them, their registered players.
+ */
+public record TournamentPurgeResult(
+    int tournaments,
+    int players
+) {}
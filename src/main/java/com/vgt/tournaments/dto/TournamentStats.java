@@ -0,0 +1,12 @@
+package com.vgt.tournaments.dto;
+
+import com.vgt.tournaments.domain.enums.TournamentStatus;
+
+import java.util.Map;
+
+public record TournamentStats(
+    long tournaments,
+    Map<TournamentStatus, Long> byStatus,
+    Map<String, Long> byGameTitle,
+    long registeredPlayers
+) {}
@@ -0,0 +1,11 @@
+package com.vgt.tournaments.dto;
+
+import com.vgt.tournaments.domain.enums.TournamentStatus;
+
+public record TournamentSuggestion(
+    Long id,
+    String name,
+    String gameTitle,
+    TournamentStatus status,
+    Long startDate
+) {}
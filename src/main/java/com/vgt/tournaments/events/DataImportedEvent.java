@@ -0,0 +1,13 @@
+package com.vgt.tournaments.events;
+
+import com.vgt.tournaments.transfer.DataSet;
+
+/**
+ * Published once a bulk import has committed rows. Imports write with plain JDBC and do not
+ * publish a change per row, so components keeping derived state reload it from the database.
+ */
+public record DataImportedEvent(
+    DataSet dataSet,
+    long rows
+) {
+}
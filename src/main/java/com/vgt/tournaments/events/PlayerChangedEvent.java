@@ -0,0 +1,23 @@
+package com.vgt.tournaments.events;
+
+import com.vgt.tournaments.domain.Player;
+
+/**
+ * Published by {@code PlayerService} inside the registering (or deleting) transaction, listeners
+ * that must only see committed changes use {@code @TransactionalEventListener}.
+ */
+public record PlayerChangedEvent(
+    Long playerId,
+    Long tournamentId,
+    ChangeType type,
+    Player player
+) {
+
+  public enum ChangeType {
+    REGISTERED, DELETED
+  }
+
+  public static PlayerChangedEvent of(ChangeType type, Player player) {
+    return new PlayerChangedEvent(player.getId(), player.getTournamentId(), type, player);
+  }
+}
@@ -0,0 +1,13 @@
+package com.vgt.tournaments.events;
+
+import java.util.Collection;
+
+/**
+ * Published once the registered players of tournaments were recounted from the player table, after
+ * their players changed or because they drifted, so whatever was built from the old counters is
+ * dropped.
+ */
+public record PlayersRecountedEvent(
+    Collection<Long> tournamentIds
+) {
+}
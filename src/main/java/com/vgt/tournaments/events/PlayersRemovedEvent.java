@@ -0,0 +1,13 @@
+package com.vgt.tournaments.events;
+
+import java.util.Collection;
+
+/**
+ * Published when the players of deleted tournaments are removed with a single statement, in place
+ * of one {@link PlayerChangedEvent} per player, which would mean loading every removed row.
+ */
+public record PlayersRemovedEvent(
+    Collection<Long> tournamentIds,
+    int players
+) {
+}
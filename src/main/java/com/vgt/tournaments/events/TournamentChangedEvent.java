@@ -0,0 +1,23 @@
+package com.vgt.tournaments.events;
+
+import com.vgt.tournaments.domain.Tournament;
+
+/**
+ * Published synchronously after a tournament is written. {@code tournament} is the state after the
+ * change (the removed row for {@link ChangeType#DELETED}), or {@code null} when the writer did not
+ * load it, e.g. after a bulk update.
+ */
+public record TournamentChangedEvent(
+    Long tournamentId,
+    ChangeType type,
+    Tournament tournament
+) {
+
+  public enum ChangeType {
+    CREATED, UPDATED, STATUS_CHANGED, DELETED
+  }
+
+  public static TournamentChangedEvent of(ChangeType type, Tournament tournament) {
+    return new TournamentChangedEvent(tournament.getId(), type, tournament);
+  }
+}
@@ -0,0 +1,176 @@
+package com.vgt.tournaments.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans committed tournament and player changes out to the Server-Sent Events subscribers of each
+ * tournament.
+ * <p>
+ * A change is serialized once into an SSE frame that every subscriber shares. Subscribers do not
+ * own a thread: each has a small bounded queue that is drained on a virtual thread only while it
+ * has frames, so a client that stops reading blocks nobody but itself. A subscriber whose queue
+ * overflows is disconnected and is expected to reconnect and re-read the tournament.
+ */
+@Slf4j
+@Component
+public class TournamentEventBroadcaster {
+
+  private final ObjectMapper objectMapper;
+  private final int maxSubscribers;
+  private final int queueCapacity;
+  private final long timeoutMillis;
+
+  private final Map<Long, Set<Subscriber>> subscribersByTournament = new ConcurrentHashMap<>();
+  private final AtomicInteger subscribers = new AtomicInteger();
+  private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+  private final Set<DataWithMediaType> heartbeat = SseEmitter.event().comment("heartbeat").build();
+
+  public TournamentEventBroadcaster(ObjectMapper objectMapper,
+      @Value("${tournaments.events.max-subscribers:20000}") int maxSubscribers,
+      @Value("${tournaments.events.queue-capacity:32}") int queueCapacity,
+      @Value("${tournaments.events.timeout:PT30M}") Duration timeout) {
+    this.objectMapper = objectMapper;
+    this.maxSubscribers = maxSubscribers;
+    this.queueCapacity = queueCapacity;
+    this.timeoutMillis = timeout.toMillis();
+  }
+
+  public SseEmitter subscribe(Long tournamentId) {
+    if (subscribers.incrementAndGet() > maxSubscribers) {
+      subscribers.decrementAndGet();
+      throw new IllegalStateException("Too many subscribers, retry later");
+    }
+
+    Subscriber subscriber = new Subscriber(tournamentId, new SseEmitter(timeoutMillis));
+    subscriber.emitter.onCompletion(() -> remove(subscriber));
+    subscriber.emitter.onTimeout(() -> remove(subscriber));
+    subscriber.emitter.onError(e -> remove(subscriber));
+
+    subscribersByTournament.compute(tournamentId, (id, tournamentSubscribers) -> {
+      Set<Subscriber> updated = tournamentSubscribers == null ? ConcurrentHashMap.newKeySet() : tournamentSubscribers;
+      updated.add(subscriber);
+      return updated;
+    });
+    return subscriber.emitter;
+  }
+
+  public int subscribers() {
+    return subscribers.get();
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onTournamentChanged(TournamentChangedEvent event) {
+    if (event.type() != TournamentChangedEvent.ChangeType.CREATED) {
+      broadcast(event.tournamentId(), event.type().name(), event.tournament(),
+          event.type() == TournamentChangedEvent.ChangeType.DELETED);
+    }
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onPlayerChanged(PlayerChangedEvent event) {
+    broadcast(event.tournamentId(), "PLAYER_" + event.type().name(), event.player(), false);
+  }
+
+  // Keeps idle connections open through proxies and finds clients that went away
+  @Scheduled(fixedDelayString = "${tournaments.events.heartbeat-interval:PT30S}")
+  public void sendHeartbeat() {
+    subscribersByTournament.values().forEach(tournamentSubscribers ->
+        tournamentSubscribers.forEach(subscriber -> subscriber.offer(heartbeat, false)));
+  }
+
+  private void broadcast(Long tournamentId, String type, Object data, boolean last) {
+    Set<Subscriber> tournamentSubscribers = subscribersByTournament.get(tournamentId);
+    if (tournamentSubscribers == null || tournamentSubscribers.isEmpty()) {
+      return;
+    }
+
+    Set<DataWithMediaType> frame;
+    try {
+      frame = SseEmitter.event()
+          .name(type)
+          .data(objectMapper.writeValueAsString(new TournamentStreamEvent(tournamentId, type, data)))
+          .build();
+    } catch (JsonProcessingException e) {
+      log.error("Could not serialize {} event of tournament {}", type, tournamentId, e);
+      return;
+    }
+
+    tournamentSubscribers.forEach(subscriber -> subscriber.offer(frame, last));
+  }
+
+  private void remove(Subscriber subscriber) {
+    subscribersByTournament.computeIfPresent(subscriber.tournamentId, (id, tournamentSubscribers) -> {
+      if (tournamentSubscribers.remove(subscriber)) {
+        subscribers.decrementAndGet();
+      }
+      return tournamentSubscribers.isEmpty() ? null : tournamentSubscribers;
+    });
+  }
+
+  public record TournamentStreamEvent(Long tournamentId, String type, Object data) {
+  }
+
+  private final class Subscriber {
+
+    private final Long tournamentId;
+    private final SseEmitter emitter;
+    private final BlockingQueue<Set<DataWithMediaType>> queue = new ArrayBlockingQueue<>(queueCapacity);
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile boolean closing;
+
+    private Subscriber(Long tournamentId, SseEmitter emitter) {
+      this.tournamentId = tournamentId;
+      this.emitter = emitter;
+    }
+
+    private void offer(Set<DataWithMediaType> frame, boolean last) {
+      if (!queue.offer(frame)) {
+        log.debug("Disconnecting slow subscriber of tournament {}", tournamentId);
+        remove(this);
+        emitter.complete();
+        return;
+      }
+      if (last) {
+        closing = true;
+      }
+      if (draining.compareAndSet(false, true)) {
+        senders.execute(this::drain);
+      }
+    }
+
+    private void drain() {
+      try {
+        do {
+          Set<DataWithMediaType> frame;
+          while ((frame = queue.poll()) != null) {
+            emitter.send(frame);
+          }
+          if (closing) {
+            remove(this);
+            emitter.complete();
+            return;
+          }
+          draining.set(false);
+        } while (!queue.isEmpty() && draining.compareAndSet(false, true));
+      } catch (Exception e) {
+        remove(this);
+        emitter.completeWithError(e);
+      }
+    }
+  }
+}
@@ -0,0 +1,106 @@
+package com.vgt.tournaments.leaderboards;
+
+import com.vgt.tournaments.dto.LeaderboardEntry;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Elo standings of one game. Reads share a read lock, a match result holds the write lock while
+ * the new ratings are persisted so two results for the same player can not interleave.
+ */
+final class Leaderboard {
+
+  static final double INITIAL_RATING = 1500;
+  static final double K_FACTOR = 32;
+
+  record Standing(double rating, int matches) {
+  }
+
+  private static final Standing NEW_PLAYER = new Standing(INITIAL_RATING, 0);
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final RatingTree tree = new RatingTree(1024);
+  private final Map<Long, Standing> standings = new HashMap<>();
+
+  void load(long playerId, double rating, int matches) {
+    lock.writeLock().lock();
+    try {
+      put(playerId, new Standing(rating, matches));
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Applies a match result. {@code writer} receives the new standings before they become visible
+   * and can abort the update by throwing.
+   */
+  List<LeaderboardEntry> recordMatch(long winnerId, long loserId, boolean draw, Consumer<Map<Long, Standing>> writer) {
+    lock.writeLock().lock();
+    try {
+      Standing winner = standings.getOrDefault(winnerId, NEW_PLAYER);
+      Standing loser = standings.getOrDefault(loserId, NEW_PLAYER);
+
+      double expected = 1 / (1 + Math.pow(10, (loser.rating() - winner.rating()) / 400));
+      double delta = K_FACTOR * ((draw ? 0.5 : 1) - expected);
+
+      Map<Long, Standing> updated = Map.of(
+          winnerId, new Standing(winner.rating() + delta, winner.matches() + 1),
+          loserId, new Standing(loser.rating() - delta, loser.matches() + 1));
+
+      writer.accept(updated);
+      updated.forEach(this::put);
+
+      return List.of(entry(winnerId), entry(loserId));
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  List<LeaderboardEntry> top(int limit) {
+    lock.readLock().lock();
+    try {
+      int length = Math.min(limit, tree.size());
+      long[] players = new long[length];
+      double[] ratings = new double[length];
+      int count = tree.top(length, players, ratings);
+
+      List<LeaderboardEntry> entries = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+        entries.add(new LeaderboardEntry(i + 1, players[i], ratings[i], standings.get(players[i]).matches()));
+      }
+      return entries;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  Optional<LeaderboardEntry> find(long playerId) {
+    lock.readLock().lock();
+    try {
+      return standings.containsKey(playerId) ? Optional.of(entry(playerId)) : Optional.empty();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private LeaderboardEntry entry(long playerId) {
+    Standing standing = standings.get(playerId);
+    return new LeaderboardEntry(tree.rank(standing.rating(), playerId), playerId, standing.rating(), standing.matches());
+  }
+
+  private void put(Long playerId, Standing standing) {
+    Standing previous = standings.put(playerId, standing);
+    if (previous != null) {
+      tree.remove(previous.rating(), playerId);
+    }
+    tree.insert(standing.rating(), playerId);
+  }
+}
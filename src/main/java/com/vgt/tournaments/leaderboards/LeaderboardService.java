@@ -0,0 +1,133 @@
+package com.vgt.tournaments.leaderboards;
+
+import com.vgt.tournaments.domain.Player;
+import com.vgt.tournaments.domain.PlayerRating;
+import com.vgt.tournaments.domain.Tournament;
+import com.vgt.tournaments.dto.LeaderboardEntry;
+import com.vgt.tournaments.dto.RecordMatchResultDto;
+import com.vgt.tournaments.repositories.PlayerRatingRepository;
+import com.vgt.tournaments.repositories.PlayerRepository;
+import com.vgt.tournaments.services.TournamentService;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Per game Elo leaderboards kept in memory and written through to {@code player_rating}.
+ * The boards are rebuilt from the persisted ratings when the application starts.
+ */
+@Slf4j
+@Service
+public class LeaderboardService {
+
+  public static final int MAX_LIMIT = 1000;
+
+  private final TournamentService tournamentService;
+  private final PlayerRepository playerRepository;
+  private final PlayerRatingRepository playerRatingRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final Map<String, Leaderboard> leaderboards = new ConcurrentHashMap<>();
+
+  public LeaderboardService(TournamentService tournamentService, PlayerRepository playerRepository,
+      PlayerRatingRepository playerRatingRepository, TransactionTemplate transactionTemplate) {
+    this.tournamentService = tournamentService;
+    this.playerRepository = playerRepository;
+    this.playerRatingRepository = playerRatingRepository;
+    this.transactionTemplate = transactionTemplate;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuild() {
+    leaderboards.clear();
+    transactionTemplate.executeWithoutResult(status -> {
+      try (var ratings = playerRatingRepository.streamValues()) {
+        ratings.forEach(rating -> leaderboard(rating.getGameTitle())
+            .load(rating.getPlayerId(), rating.getRating(), rating.getMatches()));
+      }
+    });
+    log.info("Rebuilt {} leaderboards", leaderboards.size());
+  }
+
+  public List<LeaderboardEntry> top(String gameTitle, int limit) {
+    validateLimit(limit);
+    Leaderboard leaderboard = leaderboards.get(gameTitle);
+    return leaderboard == null ? List.of() : leaderboard.top(limit);
+  }
+
+  public LeaderboardEntry findEntry(String gameTitle, Long playerId) {
+    Leaderboard leaderboard = leaderboards.get(gameTitle);
+    if (leaderboard == null) {
+      throw new EntityNotFoundException("The leaderboard does not exist");
+    }
+    return leaderboard.find(playerId)
+        .orElseThrow(() -> new EntityNotFoundException("The player is not ranked"));
+  }
+
+  public List<LeaderboardEntry> recordResult(RecordMatchResultDto dto) {
+
+    log.info("Recording: {}", dto);
+
+    validateResult(dto);
+
+    Tournament tournament = tournamentService.findById(dto.tournamentId());
+
+    Map<Long, Player> players = playerRepository.findAllById(List.of(dto.winnerId(), dto.loserId())).stream()
+        .filter(player -> tournament.getId().equals(player.getTournamentId()))
+        .collect(Collectors.toMap(Player::getId, Function.identity()));
+
+    if (players.size() != 2) {
+      throw new IllegalArgumentException("The players must be registered in the tournament");
+    }
+
+    String gameTitle = tournament.getGameTitle();
+    return leaderboard(gameTitle).recordMatch(dto.winnerId(), dto.loserId(), dto.draw(),
+        standings -> transactionTemplate.executeWithoutResult(status -> persist(gameTitle, standings)));
+  }
+
+  private void persist(String gameTitle, Map<Long, Leaderboard.Standing> standings) {
+    Map<Long, PlayerRating> existing = playerRatingRepository
+        .findByGameTitleAndPlayerIdIn(gameTitle, standings.keySet()).stream()
+        .collect(Collectors.toMap(PlayerRating::getPlayerId, Function.identity()));
+
+    List<PlayerRating> ratings = standings.entrySet().stream()
+        .map(entry -> existing.getOrDefault(entry.getKey(), PlayerRating.builder()
+                .gameTitle(gameTitle)
+                .playerId(entry.getKey())
+                .build())
+            .toBuilder()
+            .rating(entry.getValue().rating())
+            .matches(entry.getValue().matches())
+            .build())
+        .toList();
+
+    playerRatingRepository.saveAll(ratings);
+  }
+
+  private Leaderboard leaderboard(String gameTitle) {
+    return leaderboards.computeIfAbsent(gameTitle, title -> new Leaderboard());
+  }
+
+  private static void validateResult(RecordMatchResultDto dto) {
+    if (dto.tournamentId() == null || dto.winnerId() == null || dto.loserId() == null) {
+      throw new IllegalArgumentException("The tournament and both players are required");
+    }
+    if (dto.winnerId().equals(dto.loserId())) {
+      throw new IllegalArgumentException("A player can not play against itself");
+    }
+  }
+
+  private static void validateLimit(int limit) {
+    if (limit < 1 || limit > MAX_LIMIT) {
+      throw new IllegalArgumentException("The limit must be between 1 and " + MAX_LIMIT);
+    }
+  }
+}
@@ -0,0 +1,204 @@
+package com.vgt.tournaments.leaderboards;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Order-statistic treap over {@code (rating, playerId)} kept in parallel primitive arrays.
+ * Entries are ordered from the highest rating down, ties broken by the lowest player id.
+ * Insertion, removal and rank queries are O(log n) expected, reading the top N is O(log n + N).
+ * <p>
+ * Not thread safe, {@link Leaderboard} guards every access.
+ */
+final class RatingTree {
+
+  private static final int NIL = 0;
+
+  private final SplittableRandom random = new SplittableRandom();
+
+  private double[] rating;
+  private long[] player;
+  private int[] priority;
+  private int[] left;
+  private int[] right;
+  private int[] size;
+
+  private int root = NIL;
+  private int allocated;
+  private int[] free = new int[16];
+  private int freeCount;
+
+  // Results of the last split, avoids allocating a pair per call
+  private int splitLeft;
+  private int splitRight;
+
+  RatingTree(int capacity) {
+    int length = Math.max(capacity, 16) + 1;
+    rating = new double[length];
+    player = new long[length];
+    priority = new int[length];
+    left = new int[length];
+    right = new int[length];
+    size = new int[length];
+  }
+
+  int size() {
+    return size[root];
+  }
+
+  void insert(double value, long playerId) {
+    int node = allocate(value, playerId);
+    split(root, value, playerId);
+    root = merge(merge(splitLeft, node), splitRight);
+  }
+
+  void remove(double value, long playerId) {
+    split(root, value, playerId);
+    int before = splitLeft;
+    int rest = splitRight;
+    if (rest == NIL || rating[first(rest)] != value || player[first(rest)] != playerId) {
+      root = merge(before, rest);
+      return;
+    }
+    int removed = first(rest);
+    root = merge(before, removeFirst(rest));
+    release(removed);
+  }
+
+  /**
+   * One-based rank of an entry that is in the tree.
+   */
+  int rank(double value, long playerId) {
+    int count = 0;
+    int node = root;
+    while (node != NIL) {
+      if (before(node, value, playerId)) {
+        count += size[left[node]] + 1;
+        node = right[node];
+      } else {
+        node = left[node];
+      }
+    }
+    return count + 1;
+  }
+
+  /**
+   * Copies the best {@code limit} entries into the given arrays and returns how many were copied.
+   */
+  int top(int limit, long[] players, double[] ratings) {
+    int[] stack = new int[64];
+    int depth = 0;
+    int count = 0;
+    int node = root;
+    while ((node != NIL || depth > 0) && count < limit) {
+      while (node != NIL) {
+        if (depth == stack.length) {
+          stack = Arrays.copyOf(stack, depth * 2);
+        }
+        stack[depth++] = node;
+        node = left[node];
+      }
+      node = stack[--depth];
+      players[count] = player[node];
+      ratings[count] = rating[node];
+      count++;
+      node = right[node];
+    }
+    return count;
+  }
+
+  private boolean before(int node, double value, long playerId) {
+    return rating[node] > value || (rating[node] == value && player[node] < playerId);
+  }
+
+  private void split(int node, double value, long playerId) {
+    if (node == NIL) {
+      splitLeft = NIL;
+      splitRight = NIL;
+      return;
+    }
+    if (before(node, value, playerId)) {
+      split(right[node], value, playerId);
+      right[node] = splitLeft;
+      update(node);
+      splitLeft = node;
+    } else {
+      split(left[node], value, playerId);
+      left[node] = splitRight;
+      update(node);
+      splitRight = node;
+    }
+  }
+
+  private int merge(int a, int b) {
+    if (a == NIL) {
+      return b;
+    }
+    if (b == NIL) {
+      return a;
+    }
+    if (priority[a] > priority[b]) {
+      right[a] = merge(right[a], b);
+      update(a);
+      return a;
+    }
+    left[b] = merge(a, left[b]);
+    update(b);
+    return b;
+  }
+
+  private int first(int node) {
+    while (left[node] != NIL) {
+      node = left[node];
+    }
+    return node;
+  }
+
+  private int removeFirst(int node) {
+    if (left[node] == NIL) {
+      return right[node];
+    }
+    left[node] = removeFirst(left[node]);
+    update(node);
+    return node;
+  }
+
+  private void update(int node) {
+    size[node] = size[left[node]] + size[right[node]] + 1;
+  }
+
+  private int allocate(double value, long playerId) {
+    int node;
+    if (freeCount > 0) {
+      node = free[--freeCount];
+    } else {
+      node = ++allocated;
+      if (node == rating.length) {
+        grow(rating.length * 2);
+      }
+    }
+    rating[node] = value;
+    player[node] = playerId;
+    priority[node] = random.nextInt();
+    left[node] = NIL;
+    right[node] = NIL;
+    size[node] = 1;
+    return node;
+  }
+
+  private void release(int node) {
+    if (freeCount == free.length) {
+      free = Arrays.copyOf(free, freeCount * 2);
+    }
+    free[freeCount++] = node;
+  }
+
+  private void grow(int length) {
+    rating = Arrays.copyOf(rating, length);
+    player = Arrays.copyOf(player, length);
+    priority = Arrays.copyOf(priority, length);
+    left = Arrays.copyOf(left, length);
+    right = Arrays.copyOf(right, length);
+    size = Arrays.copyOf(size, length);
+  }
+}
@@ -0,0 +1,117 @@
+package com.vgt.tournaments.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public call of the services and repositories as {@code tournaments.service} and
+ * {@code tournaments.repository}, tagged by component, operation and outcome ({@code success}
+ * or the simple name of the exception thrown).
+ * <p>
+ * With {@code tournaments.metrics.timing.enabled=false} the aspect is not registered and the
+ * beans are not advised at all.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "tournaments.metrics.timing.enabled", havingValue = "true", matchIfMissing = true)
+public class TimingAspect {
+
+  public static final String SERVICE_TIMER = "tournaments.service";
+  public static final String REPOSITORY_TIMER = "tournaments.repository";
+
+  private static final String SUCCESS = "success";
+
+  private final MeterRegistry meterRegistry;
+  private final ComponentTimers tournamentService;
+  private final ComponentTimers playerService;
+  private final ComponentTimers tournamentRepository;
+  private final ComponentTimers playerRepository;
+
+  public TimingAspect(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+    this.tournamentService = new ComponentTimers(SERVICE_TIMER, "TournamentService");
+    this.playerService = new ComponentTimers(SERVICE_TIMER, "PlayerService");
+    this.tournamentRepository = new ComponentTimers(REPOSITORY_TIMER, "TournamentRepository");
+    this.playerRepository = new ComponentTimers(REPOSITORY_TIMER, "PlayerRepository");
+  }
+
+  @Around("execution(public * com.vgt.tournaments.services.TournamentService.*(..))")
+  public Object timeTournamentService(ProceedingJoinPoint joinPoint) throws Throwable {
+    return time(tournamentService, joinPoint);
+  }
+
+  @Around("execution(public * com.vgt.tournaments.services.PlayerService.*(..))")
+  public Object timePlayerService(ProceedingJoinPoint joinPoint) throws Throwable {
+    return time(playerService, joinPoint);
+  }
+
+  @Around("execution(* com.vgt.tournaments.repositories.TournamentRepository+.*(..))")
+  public Object timeTournamentRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+    return time(tournamentRepository, joinPoint);
+  }
+
+  @Around("execution(* com.vgt.tournaments.repositories.PlayerRepository+.*(..))")
+  public Object timePlayerRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+    return time(playerRepository, joinPoint);
+  }
+
+  private static Object time(ComponentTimers timers, ProceedingJoinPoint joinPoint) throws Throwable {
+    long start = System.nanoTime();
+    Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+    try {
+      Object result = joinPoint.proceed();
+      timers.success(method).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      return result;
+    } catch (Throwable e) {
+      timers.failure(method, e.getClass()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      throw e;
+    }
+  }
+
+  private record Failure(Method method, Class<? extends Throwable> type) {
+  }
+
+  /**
+   * The timers of one component, registered on the first call of each operation and outcome. Later
+   * calls only look them up, without building tags or going through the registry.
+   */
+  private final class ComponentTimers {
+
+    private final String name;
+    private final String component;
+    private final Map<Method, Timer> successes = new ConcurrentHashMap<>();
+    private final Map<Failure, Timer> failures = new ConcurrentHashMap<>();
+
+    private ComponentTimers(String name, String component) {
+      this.name = name;
+      this.component = component;
+    }
+
+    private Timer success(Method method) {
+      return successes.computeIfAbsent(method, key -> register(key, SUCCESS));
+    }
+
+    private Timer failure(Method method, Class<? extends Throwable> type) {
+      return failures.computeIfAbsent(new Failure(method, type), key -> register(method, type.getSimpleName()));
+    }
+
+    private Timer register(Method method, String outcome) {
+      return Timer.builder(name)
+          .tag("component", component)
+          .tag("operation", method.getName())
+          .tag("outcome", outcome)
+          .register(meterRegistry);
+    }
+  }
+}
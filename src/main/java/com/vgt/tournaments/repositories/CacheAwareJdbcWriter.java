@@ -0,0 +1,64 @@
+package com.vgt.tournaments.repositories;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.cache.spi.TimestampsCache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Runs bulk writes through JDBC and keeps the second-level cache in step with them. A JPQL bulk
+ * statement makes Hibernate drop the whole region of the entity it writes; here only the written
+ * rows are evicted, once the transaction has completed, and cached query results over the table are
+ * invalidated the way Hibernate invalidates them after its own writes.
+ */
+@Component
+class CacheAwareJdbcWriter {
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+  private final EntityManager entityManager;
+
+  CacheAwareJdbcWriter(NamedParameterJdbcTemplate jdbcTemplate, EntityManager entityManager) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.entityManager = entityManager;
+  }
+
+  List<Long> queryForIds(String sql, SqlParameterSource parameters) {
+    return jdbcTemplate.queryForList(sql, parameters, Long.class);
+  }
+
+  /**
+   * Runs {@code sql}, which writes the table of {@code entityClass} and only the rows of {@code ids}.
+   * Must be called in a transaction.
+   */
+  int update(Class<?> entityClass, Collection<Long> ids, String sql, SqlParameterSource parameters) {
+    SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+    SessionFactoryImplementor sessionFactory = session.getFactory();
+    String[] spaces = sessionFactory.getMappingMetamodel().getEntityDescriptor(entityClass).getSynchronizedQuerySpaces();
+    TimestampsCache timestamps = sessionFactory.getCache().getTimestampsCache();
+
+    // Pending changes reach the database first, as they would before a JPQL statement
+    entityManager.flush();
+    // Until the transaction completes, query results over the table are not cached
+    timestamps.preInvalidate(spaces, session);
+    int updated = jdbcTemplate.update(sql, parameters);
+
+    List<Long> written = List.copyOf(ids);
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        // Evicted after the commit, a read in between could otherwise cache a row being written
+        written.forEach(id -> sessionFactory.getCache().evictEntityData(entityClass, id));
+        timestamps.invalidate(spaces, session);
+      }
+    });
+    return updated;
+  }
+}
@@ -0,0 +1,20 @@
+package com.vgt.tournaments.repositories;
+
+import com.vgt.tournaments.domain.PlayerRating;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface PlayerRatingRepository extends JpaRepository<PlayerRating, Long> {
+
+  List<PlayerRating> findByGameTitleAndPlayerIdIn(String gameTitle, Collection<Long> playerIds);
+
+  @Query("select r.gameTitle as gameTitle, r.playerId as playerId, r.rating as rating, r.matches as matches"
+      + " from PlayerRating r")
+  Stream<PlayerRatingValue> streamValues();
+}
@@ -0,0 +1,12 @@
+package com.vgt.tournaments.repositories;
+
+public interface PlayerRatingValue {
+
+  String getGameTitle();
+
+  Long getPlayerId();
+
+  double getRating();
+
+  int getMatches();
+}
@@ -1,14 +1,36 @@
 package com.vgt.tournaments.repositories;
 
 import com.vgt.tournaments.domain.Player;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface PlayerRepository extends JpaRepository<Player, Long> {
+public interface PlayerRepository extends JpaRepository<Player, Long>, PlayerRepositoryCustom {
+ // Served from the query cache until a player write touches the table
+ @QueryHints({
+     @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+     @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "players-by-tournament")
+ })
  public List<Player> findPlayersByTournamentId(Long tournamentId);
 
+ long countByTournamentId(Long tournamentId);
+
+ @Query("select p.id from Player p where p.tournamentId = :tournamentId order by p.registrationDate, p.id")
+ List<Long> findPlayerIdsInSeedOrder(Long tournamentId);
+
+ @Query("select p.tournamentId as tournamentId, count(p) as players from Player p"
+     + " where p.tournamentId in :tournamentIds group by p.tournamentId")
+ List<TournamentPlayerCount> countByTournamentIds(Collection<Long> tournamentIds);
+
+ @Query("select p.tournamentId from Player p where p.id = :id")
+ Optional<Long> findTournamentIdById(Long id);
+
 }
@@ -0,0 +1,13 @@
+package com.vgt.tournaments.repositories;
+
+/**
+ * Writes of {@link PlayerRepository} run through JDBC, so that only the written rows leave the
+ * second-level cache.
+ */
+public interface PlayerRepositoryCustom {
+
+  /**
+   * Deletes the player with a single statement, without loading it.
+   */
+  int deleteWithoutLoading(Long id);
+}
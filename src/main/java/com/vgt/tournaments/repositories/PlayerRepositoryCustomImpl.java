@@ -0,0 +1,23 @@
+package com.vgt.tournaments.repositories;
+
+import com.vgt.tournaments.domain.Player;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+class PlayerRepositoryCustomImpl implements PlayerRepositoryCustom {
+
+  private final CacheAwareJdbcWriter writer;
+
+  PlayerRepositoryCustomImpl(CacheAwareJdbcWriter writer) {
+    this.writer = writer;
+  }
+
+  @Override
+  @Transactional
+  public int deleteWithoutLoading(Long id) {
+    return writer.update(Player.class, List.of(id), "delete from player where id = :id",
+        new MapSqlParameterSource("id", id));
+  }
+}
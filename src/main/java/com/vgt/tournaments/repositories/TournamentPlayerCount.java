@@ -0,0 +1,8 @@
+package com.vgt.tournaments.repositories;
+
+public interface TournamentPlayerCount {
+
+  Long getTournamentId();
+
+  long getPlayers();
+}
@@ -1,13 +1,46 @@
 package com.vgt.tournaments.repositories;
 
 import com.vgt.tournaments.domain.Tournament;
+import com.vgt.tournaments.domain.enums.TournamentStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface TournamentRepository extends JpaRepository<Tournament, Long> {
+public interface TournamentRepository extends JpaRepository<Tournament, Long>, JpaSpecificationExecutor<Tournament>,
+    TournamentRepositoryCustom {
 
+  @Query("select t.id as id, t.startDate as startDate from Tournament t where t.status = :status")
+  Stream<TournamentStartDate> streamStartDatesByStatus(TournamentStatus status);
+
+  @Query("select t.id as id, t.name as name, t.gameTitle as gameTitle, t.status as status,"
+      + " t.startDate as startDate from Tournament t")
+  Stream<TournamentSummary> streamSummaries();
+
+  @Query("select t.id as id, t.status as status, t.gameTitle as gameTitle from Tournament t")
+  Stream<TournamentState> streamStates();
+
+  /**
+   * Locks the tournaments among {@code ids} that are still {@code status}, so the rows a conditional
+   * bulk update is about to change are known before it runs.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select t.id from Tournament t where t.id in :ids and t.status = :status order by t.id")
+  List<Long> lockIdsByIdInAndStatus(Collection<Long> ids, TournamentStatus status);
+
+  /**
+   * Locks the next tournaments to purge, so their status can not change before they are deleted.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select t.id from Tournament t where t.status = :status and t.startDate < :startDateBefore order by t.id")
+  List<Long> lockIdsByStatusAndStartDateBefore(TournamentStatus status, Long startDateBefore, Limit limit);
 
 }
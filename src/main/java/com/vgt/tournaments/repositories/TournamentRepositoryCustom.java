@@ -0,0 +1,34 @@
+package com.vgt.tournaments.repositories;
+
+import com.vgt.tournaments.domain.enums.TournamentStatus;
+
+import java.util.Collection;
+
+/**
+ * Bulk writes of {@link TournamentRepository}, run through JDBC so that only the written rows leave
+ * the second-level cache.
+ */
+public interface TournamentRepositoryCustom {
+
+  /**
+   * Starts the tournaments of {@code ids} that are still UPCOMING.
+   */
+  int startUpcoming(Collection<Long> ids);
+
+  /**
+   * Sets the non-null fields, unless the tournament has started or has more registered players than
+   * a new {@code maxPlayers}.
+   */
+  int patchUnlessStarted(Long id, String name, String gameTitle, Integer maxPlayers, Long startDate,
+      TournamentStatus status);
+
+  /**
+   * Sets the registered players of the tournaments of {@code ids} to their number of players. Only
+   * the counter is written, the version of the tournaments is left alone.
+   */
+  int recountPlayers(Collection<Long> ids);
+
+  int deletePlayersOf(Collection<Long> tournamentIds);
+
+  int deleteAllByIds(Collection<Long> ids);
+}
@@ -0,0 +1,77 @@
+package com.vgt.tournaments.repositories;
+
+import com.vgt.tournaments.domain.Player;
+import com.vgt.tournaments.domain.Tournament;
+import com.vgt.tournaments.domain.enums.TournamentStatus;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Types;
+import java.util.Collection;
+import java.util.List;
+
+class TournamentRepositoryCustomImpl implements TournamentRepositoryCustom {
+
+  private final CacheAwareJdbcWriter writer;
+
+  TournamentRepositoryCustomImpl(CacheAwareJdbcWriter writer) {
+    this.writer = writer;
+  }
+
+  @Override
+  @Transactional
+  public int startUpcoming(Collection<Long> ids) {
+    return writer.update(Tournament.class, ids, "update tournament set status = 'STARTED', version = version + 1"
+        + " where id in (:ids) and status = 'UPCOMING'", new MapSqlParameterSource("ids", ids));
+  }
+
+  @Override
+  @Transactional
+  public int patchUnlessStarted(Long id, String name, String gameTitle, Integer maxPlayers, Long startDate,
+      TournamentStatus status) {
+    MapSqlParameterSource parameters = new MapSqlParameterSource("id", id)
+        .addValue("name", name, Types.VARCHAR)
+        .addValue("gameTitle", gameTitle, Types.VARCHAR)
+        .addValue("maxPlayers", maxPlayers, Types.INTEGER)
+        .addValue("startDate", startDate, Types.BIGINT)
+        .addValue("status", status == null ? null : status.name(), Types.VARCHAR);
+    return writer.update(Tournament.class, List.of(id), "update tournament set name = coalesce(:name, name),"
+        + " game_title = coalesce(:gameTitle, game_title),"
+        + " max_players = coalesce(:maxPlayers, max_players),"
+        + " start_date = coalesce(:startDate, start_date),"
+        + " status = coalesce(:status, status),"
+        + " version = version + 1"
+        + " where id = :id and status <> 'STARTED'"
+        // Never below the registered players, which can only be overcounted until their next recount
+        + " and (:maxPlayers is null or registered_players <= :maxPlayers)", parameters);
+  }
+
+  @Override
+  @Transactional
+  public int recountPlayers(Collection<Long> ids) {
+    return writer.update(Tournament.class, ids, "update tournament t"
+        + " set registered_players = (select count(*) from player p where p.tournament_id = t.id)"
+        + " where t.id in (:ids)", new MapSqlParameterSource("ids", ids));
+  }
+
+  @Override
+  @Transactional
+  public int deletePlayersOf(Collection<Long> tournamentIds) {
+    MapSqlParameterSource parameters = new MapSqlParameterSource("tournamentIds", tournamentIds);
+    // Only the ids, so the cached players can be evicted one by one
+    List<Long> playerIds = writer.queryForIds("select id from player where tournament_id in (:tournamentIds)",
+        parameters);
+    if (playerIds.isEmpty()) {
+      return 0;
+    }
+    return writer.update(Player.class, playerIds, "delete from player where tournament_id in (:tournamentIds)",
+        parameters);
+  }
+
+  @Override
+  @Transactional
+  public int deleteAllByIds(Collection<Long> ids) {
+    return writer.update(Tournament.class, ids, "delete from tournament where id in (:ids)",
+        new MapSqlParameterSource("ids", ids));
+  }
+}
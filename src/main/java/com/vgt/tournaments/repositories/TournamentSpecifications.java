@@ -0,0 +1,36 @@
+package com.vgt.tournaments.repositories;
+
+import com.vgt.tournaments.domain.Tournament;
+import com.vgt.tournaments.domain.enums.TournamentStatus;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Building blocks for the keyset listing. Each method returns {@code null} when the
+ * filter is absent so that only the predicates actually requested reach the SQL
+ * and the planner can pick the matching index.
+ */
+public final class TournamentSpecifications {
+
+  private TournamentSpecifications() {
+  }
+
+  public static Specification<Tournament> idAfter(Long afterId) {
+    return afterId == null ? null : (root, query, cb) -> cb.greaterThan(root.get("id"), afterId);
+  }
+
+  public static Specification<Tournament> hasStatus(TournamentStatus status) {
+    return status == null ? null : (root, query, cb) -> cb.equal(root.get("status"), status);
+  }
+
+  public static Specification<Tournament> hasGameTitle(String gameTitle) {
+    return gameTitle == null ? null : (root, query, cb) -> cb.equal(root.get("gameTitle"), gameTitle);
+  }
+
+  public static Specification<Tournament> startsFrom(Long epochDay) {
+    return epochDay == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("startDate"), epochDay);
+  }
+
+  public static Specification<Tournament> startsUntil(Long epochDay) {
+    return epochDay == null ? null : (root, query, cb) -> cb.lessThanOrEqualTo(root.get("startDate"), epochDay);
+  }
+}
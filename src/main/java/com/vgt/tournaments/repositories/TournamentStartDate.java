@@ -0,0 +1,8 @@
+package com.vgt.tournaments.repositories;
+
+public interface TournamentStartDate {
+
+  Long getId();
+
+  Long getStartDate();
+}
@@ -0,0 +1,12 @@
+package com.vgt.tournaments.repositories;
+
+import com.vgt.tournaments.domain.enums.TournamentStatus;
+
+public interface TournamentState {
+
+  Long getId();
+
+  TournamentStatus getStatus();
+
+  String getGameTitle();
+}
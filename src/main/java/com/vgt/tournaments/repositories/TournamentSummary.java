@@ -0,0 +1,16 @@
+package com.vgt.tournaments.repositories;
+
+import com.vgt.tournaments.domain.enums.TournamentStatus;
+
+public interface TournamentSummary {
+
+  Long getId();
+
+  String getName();
+
+  String getGameTitle();
+
+  TournamentStatus getStatus();
+
+  Long getStartDate();
+}
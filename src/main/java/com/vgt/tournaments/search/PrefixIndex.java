@@ -0,0 +1,251 @@
+package com.vgt.tournaments.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+/**
+ * Trie over the words of short texts where every node keeps the best {@code topK} entries of its
+ * subtree, so a prefix lookup costs one walk down the prefix plus copying at most {@code topK} ids,
+ * whatever the number of matches. Lower ranks are better.
+ * <p>
+ * A text is indexed from the start of each of its words, so {@code "spring chess cup"} is found by
+ * {@code "spr"}, {@code "che"} and {@code "cup"}. Terms are cut at {@link #MAX_TERM_LENGTH}
+ * characters and at most {@link #MAX_TERMS} are kept per entry, which bounds the nodes an entry can
+ * add. Not thread safe.
+ */
+final class PrefixIndex {
+
+  static final int MAX_TERM_LENGTH = 32;
+  static final int MAX_TERMS = 16;
+
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+  private static final char[] NO_KEYS = new char[0];
+  private static final Node[] NO_CHILDREN = new Node[0];
+  private static final Entry[] NO_ENTRIES = new Entry[0];
+
+  private record Entry(long id, long rank) implements Comparable<Entry> {
+    @Override
+    public int compareTo(Entry other) {
+      int byRank = Long.compare(rank, other.rank);
+      return byRank != 0 ? byRank : Long.compare(id, other.id);
+    }
+  }
+
+  private record Indexed(Entry entry, Set<String> terms) {
+  }
+
+  private static final class Node {
+    char[] keys = NO_KEYS;
+    Node[] children = NO_CHILDREN;
+    // Entries whose term ends here, best first
+    TreeSet<Entry> terminals;
+    Entry[] top = NO_ENTRIES;
+  }
+
+  private final int topK;
+  private final Node root = new Node();
+  private final Map<Long, Indexed> entries = new HashMap<>();
+
+  PrefixIndex(int topK) {
+    this.topK = topK;
+  }
+
+  int size() {
+    return entries.size();
+  }
+
+  void put(long id, long rank, String... texts) {
+    remove(id);
+
+    Set<String> terms = terms(texts);
+    Entry entry = new Entry(id, rank);
+    entries.put(id, new Indexed(entry, terms));
+
+    for (String term : terms) {
+      Node node = root;
+      offer(node, entry);
+      for (int i = 0; i < term.length(); i++) {
+        node = childOrCreate(node, term.charAt(i));
+        offer(node, entry);
+      }
+      if (node.terminals == null) {
+        node.terminals = new TreeSet<>();
+      }
+      node.terminals.add(entry);
+    }
+  }
+
+  void remove(long id) {
+    Indexed indexed = entries.remove(id);
+    if (indexed == null) {
+      return;
+    }
+
+    for (String term : indexed.terms()) {
+      Node[] path = new Node[term.length() + 1];
+      path[0] = root;
+      for (int i = 0; i < term.length(); i++) {
+        path[i + 1] = child(path[i], term.charAt(i));
+      }
+
+      Node last = path[term.length()];
+      last.terminals.remove(indexed.entry());
+      if (last.terminals.isEmpty()) {
+        last.terminals = null;
+      }
+
+      // An entry missing from a node's top can not be in the top of any of its ancestors
+      for (int depth = term.length(); depth >= 0; depth--) {
+        Node node = path[depth];
+        if (depth > 0 && node.terminals == null && node.keys.length == 0) {
+          removeChild(path[depth - 1], term.charAt(depth - 1));
+          continue;
+        }
+        if (!contains(node.top, indexed.entry())) {
+          break;
+        }
+        recompute(node);
+      }
+    }
+  }
+
+  /**
+   * Ids of the best {@code limit} entries having a term that starts with {@code prefix}, best
+   * first. Only the first {@link #MAX_TERM_LENGTH} characters of the prefix are significant and
+   * {@code limit} is capped at the {@code topK} the index was built with.
+   */
+  long[] search(String prefix, int limit) {
+    String path = normalize(prefix);
+    if (path.length() > MAX_TERM_LENGTH) {
+      path = path.substring(0, MAX_TERM_LENGTH);
+    }
+
+    Node node = root;
+    for (int i = 0; i < path.length() && node != null; i++) {
+      node = child(node, path.charAt(i));
+    }
+    if (node == null) {
+      return new long[0];
+    }
+
+    long[] ids = new long[Math.min(limit, node.top.length)];
+    for (int i = 0; i < ids.length; i++) {
+      ids[i] = node.top[i].id();
+    }
+    return ids;
+  }
+
+  private static Set<String> terms(String... texts) {
+    Set<String> terms = new LinkedHashSet<>();
+    for (String text : texts) {
+      if (text == null) {
+        continue;
+      }
+      String normalized = normalize(text);
+      for (int start = 0; start < normalized.length() && terms.size() < MAX_TERMS; start++) {
+        if (normalized.charAt(start) != ' ' && (start == 0 || normalized.charAt(start - 1) == ' ')) {
+          terms.add(normalized.substring(start, Math.min(normalized.length(), start + MAX_TERM_LENGTH)).strip());
+        }
+      }
+    }
+    return terms;
+  }
+
+  private static String normalize(String text) {
+    return WHITESPACE.matcher(text.strip()).replaceAll(" ").toLowerCase(Locale.ROOT);
+  }
+
+  private void offer(Node node, Entry entry) {
+    Entry[] top = node.top;
+    if (top.length == topK && entry.compareTo(top[topK - 1]) >= 0) {
+      return;
+    }
+    int at = Arrays.binarySearch(top, entry);
+    if (at >= 0) {
+      return;
+    }
+    at = -at - 1;
+    Entry[] updated = new Entry[Math.min(topK, top.length + 1)];
+    System.arraycopy(top, 0, updated, 0, at);
+    updated[at] = entry;
+    System.arraycopy(top, at, updated, at + 1, updated.length - at - 1);
+    node.top = updated;
+  }
+
+  /**
+   * Rebuilds the top of a node from its own terminals and the tops of its children, which are
+   * always complete for their subtrees.
+   */
+  private void recompute(Node node) {
+    List<Entry> candidates = new ArrayList<>();
+    if (node.terminals != null) {
+      for (Entry entry : node.terminals) {
+        if (candidates.size() == topK) {
+          break;
+        }
+        candidates.add(entry);
+      }
+    }
+    for (Node child : node.children) {
+      candidates.addAll(Arrays.asList(child.top));
+    }
+    node.top = candidates.stream().distinct().sorted().limit(topK).toArray(Entry[]::new);
+  }
+
+  private static boolean contains(Entry[] top, Entry entry) {
+    return Arrays.binarySearch(top, entry) >= 0;
+  }
+
+  private static Node child(Node node, char key) {
+    int at = Arrays.binarySearch(node.keys, key);
+    return at >= 0 ? node.children[at] : null;
+  }
+
+  private static Node childOrCreate(Node node, char key) {
+    int at = Arrays.binarySearch(node.keys, key);
+    if (at >= 0) {
+      return node.children[at];
+    }
+    at = -at - 1;
+    Node child = new Node();
+
+    char[] keys = new char[node.keys.length + 1];
+    System.arraycopy(node.keys, 0, keys, 0, at);
+    keys[at] = key;
+    System.arraycopy(node.keys, at, keys, at + 1, node.keys.length - at);
+
+    Node[] children = new Node[node.children.length + 1];
+    System.arraycopy(node.children, 0, children, 0, at);
+    children[at] = child;
+    System.arraycopy(node.children, at, children, at + 1, node.children.length - at);
+
+    node.keys = keys;
+    node.children = children;
+    return child;
+  }
+
+  private static void removeChild(Node node, char key) {
+    int at = Arrays.binarySearch(node.keys, key);
+    if (at < 0) {
+      return;
+    }
+    char[] keys = new char[node.keys.length - 1];
+    System.arraycopy(node.keys, 0, keys, 0, at);
+    System.arraycopy(node.keys, at + 1, keys, at, keys.length - at);
+
+    Node[] children = new Node[node.children.length - 1];
+    System.arraycopy(node.children, 0, children, 0, at);
+    System.arraycopy(node.children, at + 1, children, at, children.length - at);
+
+    node.keys = keys;
+    node.children = children;
+  }
+}
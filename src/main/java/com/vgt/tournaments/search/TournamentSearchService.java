@@ -0,0 +1,144 @@
+package com.vgt.tournaments.search;
+
+import com.vgt.tournaments.domain.Tournament;
+import com.vgt.tournaments.dto.TournamentSuggestion;
+import com.vgt.tournaments.events.DataImportedEvent;
+import com.vgt.tournaments.events.TournamentChangedEvent;
+import com.vgt.tournaments.repositories.TournamentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Typeahead over tournament names and game titles, answered from memory. The index is built when
+ * the application starts and follows every committed tournament change afterwards.
+ * <p>
+ * Live tournaments rank first, then upcoming ones by start date, then finished ones, most recent
+ * first.
+ */
+@Slf4j
+@Service
+public class TournamentSearchService {
+
+  public static final int MAX_LIMIT = 20;
+
+  private final TournamentRepository tournamentRepository;
+  private final TransactionTemplate transactionTemplate;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final PrefixIndex index = new PrefixIndex(MAX_LIMIT);
+  private final Map<Long, TournamentSuggestion> suggestions = new HashMap<>();
+
+  public TournamentSearchService(TournamentRepository tournamentRepository, TransactionTemplate transactionTemplate) {
+    this.tournamentRepository = tournamentRepository;
+    this.transactionTemplate = transactionTemplate;
+  }
+
+  @EventListener({ApplicationReadyEvent.class, DataImportedEvent.class})
+  public void rebuild() {
+    transactionTemplate.executeWithoutResult(status -> {
+      // Projections, so the rebuild neither fills the persistence context nor the second level cache
+      try (var tournaments = tournamentRepository.streamSummaries()) {
+        tournaments.forEach(tournament -> put(new TournamentSuggestion(tournament.getId(), tournament.getName(),
+            tournament.getGameTitle(), tournament.getStatus(), tournament.getStartDate())));
+      }
+    });
+    log.info("Indexed {} tournaments for search", size());
+  }
+
+  public List<TournamentSuggestion> search(String prefix, int limit) {
+    validatePrefix(prefix);
+    validateLimit(limit);
+
+    lock.readLock().lock();
+    try {
+      long[] ids = index.search(prefix, limit);
+      List<TournamentSuggestion> found = new ArrayList<>(ids.length);
+      for (long id : ids) {
+        found.add(suggestions.get(id));
+      }
+      return found;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return index.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onTournamentChanged(TournamentChangedEvent event) {
+    switch (event.type()) {
+      case CREATED, UPDATED -> put(event.tournament());
+      case DELETED -> remove(event.tournamentId());
+      // Bulk status changes do not carry the row
+      case STATUS_CHANGED -> tournamentRepository.findById(event.tournamentId())
+          .ifPresentOrElse(this::put, () -> remove(event.tournamentId()));
+    }
+  }
+
+  private void put(Tournament tournament) {
+    put(new TournamentSuggestion(tournament.getId(), tournament.getName(), tournament.getGameTitle(),
+        tournament.getStatus(), tournament.getStartDate()));
+  }
+
+  private void put(TournamentSuggestion suggestion) {
+    lock.writeLock().lock();
+    try {
+      suggestions.put(suggestion.id(), suggestion);
+      index.put(suggestion.id(), rank(suggestion), suggestion.name(), suggestion.gameTitle());
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private void remove(Long tournamentId) {
+    lock.writeLock().lock();
+    try {
+      suggestions.remove(tournamentId);
+      index.remove(tournamentId);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  static long rank(TournamentSuggestion suggestion) {
+    long startDate = suggestion.startDate() == null ? 0 : suggestion.startDate();
+    if (suggestion.status() == null) {
+      return 3L << 40;
+    }
+    return switch (suggestion.status()) {
+      case STARTED -> startDate;
+      case UPCOMING -> (1L << 40) + startDate;
+      case FINISHED -> (2L << 40) - startDate;
+    };
+  }
+
+  private static void validatePrefix(String prefix) {
+    if (prefix == null || prefix.isBlank()) {
+      throw new IllegalArgumentException("The prefix is required");
+    }
+  }
+
+  private static void validateLimit(int limit) {
+    if (limit < 1 || limit > MAX_LIMIT) {
+      throw new IllegalArgumentException("The limit must be between 1 and " + MAX_LIMIT);
+    }
+  }
+}
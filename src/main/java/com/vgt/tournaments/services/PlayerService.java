@@ -4,33 +4,221 @@ import com.vgt.tournaments.domain.Player;
 import com.vgt.tournaments.domain.Tournament;
 import com.vgt.tournaments.domain.enums.TournamentStatus;
 import com.vgt.tournaments.dto.CreatePlayerDto;
+import com.vgt.tournaments.events.PlayerChangedEvent;
+import com.vgt.tournaments.events.PlayerChangedEvent.ChangeType;
 import com.vgt.tournaments.repositories.PlayerRepository;
 import com.vgt.tournaments.repositories.TournamentRepository;
+import jakarta.persistence.EntityNotFoundException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 public class PlayerService {
+
+    public static final int MAX_BATCH_SIZE = 1000;
+
     private final PlayerRepository playerRepository;
     // TODO Danna - This must be final
     private final TournamentRepository tournamentRepository;
+    private final TournamentCapacity tournamentCapacity;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public PlayerService(PlayerRepository playerRepository, TournamentRepository tournamentRepository) {
+    public PlayerService(PlayerRepository playerRepository, TournamentRepository tournamentRepository,
+                         TournamentCapacity tournamentCapacity, ApplicationEventPublisher eventPublisher) {
         this.tournamentRepository = tournamentRepository;
         this.playerRepository = playerRepository;
+        this.tournamentCapacity = tournamentCapacity;
+        this.eventPublisher = eventPublisher;
+    }
+
+
+
+    @Transactional
+    public Player create(CreatePlayerDto dto) {
+
+        log.info("Creating: {}", dto);
+
+        if (dto.tournamentId() == null) {
+            throw new IllegalArgumentException("The tournament is required");
+        }
+
+        Tournament tournament = tournamentRepository.findById(dto.tournamentId())
+                .orElseThrow(() -> new IllegalArgumentException("The tournament does not exist"));
+
+        validateTournamentCanAddPlayers(tournament);
+
+        tournamentCapacity.reserve(tournament, 1);
+
+        Player player = Player.builder()
+                .name(dto.name())
+                .nickName(dto.nickName())
+                .tournamentId(tournament.getId())
+                .registrationDate(registrationDate(dto).toEpochDay())
+                .build();
+
+        Player created = playerRepository.save(player);
+        eventPublisher.publishEvent(PlayerChangedEvent.of(ChangeType.REGISTERED, created));
+        return created;
+    }
+
+    /**
+     * Registers all players in one transaction, or none of them. Each tournament is
+     * loaded and reserved once for the whole batch and the inserts go out as JDBC batches.
+     */
+    @Transactional
+    public List<Player> createBatch(List<CreatePlayerDto> dtos) {
+
+        log.info("Creating batch of {} players", dtos.size());
+
+        validateBatchSize(dtos.size());
+
+        Map<Long, Long> requestedByTournament = dtos.stream()
+                .map(dto -> {
+                    if (dto.tournamentId() == null) {
+                        throw new IllegalArgumentException("The tournament is required");
+                    }
+                    return dto.tournamentId();
+                })
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+
+        Map<Long, Tournament> tournaments = tournamentRepository.findAllById(requestedByTournament.keySet()).stream()
+                .collect(Collectors.toMap(Tournament::getId, Function.identity()));
+
+        requestedByTournament.forEach((tournamentId, requested) -> {
+            Tournament tournament = tournaments.get(tournamentId);
+            if (tournament == null) {
+                throw new IllegalArgumentException("The tournament does not exist");
+            }
+            validateTournamentCanAddPlayers(tournament);
+            tournamentCapacity.reserve(tournament, requested.intValue());
+        });
+
+        List<Player> players = dtos.stream()
+                .map(dto -> Player.builder()
+                        .name(dto.name())
+                        .nickName(dto.nickName())
+                        .tournamentId(dto.tournamentId())
+                        .registrationDate(registrationDate(dto).toEpochDay())
+                        .build())
+                .toList();
+
+        List<Player> created = playerRepository.saveAll(players);
+        created.forEach(player -> eventPublisher.publishEvent(PlayerChangedEvent.of(ChangeType.REGISTERED, player)));
+        return created;
     }
 
+    /**
+     * Commits a group of independent registrations in one transaction. Unlike
+     * {@link #createBatch(List)} every registration is validated on its own: a rejected one is
+     * reported in its {@link Registration} and does not keep the others from being saved.
+     */
+    @Transactional
+    public List<Registration> createGroup(List<CreatePlayerDto> dtos) {
+
+        log.debug("Creating group of {} players", dtos.size());
+
+        Map<Long, Tournament> tournaments = tournamentRepository.findAllById(dtos.stream()
+                        .map(CreatePlayerDto::tournamentId)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Tournament::getId, Function.identity()));
+
+        List<Registration> registrations = new ArrayList<>(dtos.size());
+        List<Player> accepted = new ArrayList<>(dtos.size());
+        for (CreatePlayerDto dto : dtos) {
+            try {
+                if (dto.tournamentId() == null) {
+                    throw new IllegalArgumentException("The tournament is required");
+                }
+                Tournament tournament = tournaments.get(dto.tournamentId());
+                if (tournament == null) {
+                    throw new IllegalArgumentException("The tournament does not exist");
+                }
+                validateTournamentCanAddPlayers(tournament);
+                tournamentCapacity.reserve(tournament, 1);
+
+                Player player = Player.builder()
+                        .name(dto.name())
+                        .nickName(dto.nickName())
+                        .tournamentId(tournament.getId())
+                        .registrationDate(registrationDate(dto).toEpochDay())
+                        .build();
+                accepted.add(player);
+                registrations.add(new Registration(player, null));
+            } catch (IllegalArgumentException e) {
+                registrations.add(new Registration(null, e));
+            }
+        }
+
+        playerRepository.saveAll(accepted);
+        accepted.forEach(player -> eventPublisher.publishEvent(PlayerChangedEvent.of(ChangeType.REGISTERED, player)));
+        return registrations;
+    }
 
+    /**
+     * Players registered in a tournament, from the query cache when it holds them.
+     */
+    public List<Player> findRoster(Long tournamentId) {
+        if (!tournamentRepository.existsById(tournamentId)) {
+            throw new EntityNotFoundException("The tournament does not exist");
+        }
+        return playerRepository.findPlayersByTournamentId(tournamentId);
+    }
 
+    /**
+     * Deletes the player with a single statement. Only its tournament is read, which the capacity
+     * counter needs, so the row is never loaded into the persistence context.
+     */
+    @Transactional
     public void delete(Long id) {
-        Player player = playerRepository.findById(id)
+        Long tournamentId = playerRepository.findTournamentIdById(id)
                 .orElseThrow(() -> new IllegalArgumentException("The player does not exist"));
 
-        playerRepository.delete(player);
+        if (playerRepository.deleteWithoutLoading(id) == 0) {
+            throw new IllegalArgumentException("The player does not exist");
+        }
+        tournamentCapacity.release(tournamentId);
+        // Listeners of a deletion only get the keys, the rest of the row was never read
+        eventPublisher.publishEvent(PlayerChangedEvent.of(ChangeType.DELETED,
+                Player.builder().id(id).tournamentId(tournamentId).build()));
+    }
+
+    private static void validateTournamentCanAddPlayers(Tournament tournament) {
+        if (!tournament.canAddPlayers()) {
+            throw new IllegalArgumentException("The tournament does not accept players");
+        }
+    }
+
+    private static void validateBatchSize(int size) {
+        if (size == 0) {
+            throw new IllegalArgumentException("The batch can not be empty");
+        }
+        if (size > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("The batch can not have more than " + MAX_BATCH_SIZE + " players");
+        }
+    }
+
+    /**
+     * Outcome of one registration in {@link #createGroup(List)}: either the saved player or the
+     * reason it was rejected.
+     */
+    public record Registration(Player player, IllegalArgumentException error) {
+    }
 
+    private static LocalDate registrationDate(CreatePlayerDto dto) {
+        return dto.registrationDate() == null ? LocalDate.now() : dto.registrationDate();
     }
 
 }
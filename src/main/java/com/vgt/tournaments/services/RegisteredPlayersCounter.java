@@ -0,0 +1,140 @@
+package com.vgt.tournaments.services;
+
+import com.vgt.tournaments.domain.Tournament;
+import com.vgt.tournaments.events.DataImportedEvent;
+import com.vgt.tournaments.events.PlayerChangedEvent;
+import com.vgt.tournaments.events.PlayersRecountedEvent;
+import com.vgt.tournaments.repositories.TournamentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Persists {@link Tournament#getRegisteredPlayers()}, so how full a tournament is can be read from
+ * the tournament row alone.
+ * <p>
+ * Registrations are admitted by {@link TournamentCapacity} and never write the tournament row, so
+ * they do not wait for each other on its lock. Tournaments whose players changed are only marked
+ * once the change commits, and every {@code tournaments.registered-players.flush-interval}
+ * {@link #flush()} recounts the marked ones from the player table with one statement per chunk.
+ * A recount is exact whatever was missed or counted twice before it, and it leaves the version of
+ * the tournament alone, so a registration never fails a concurrent update of the tournament.
+ * <p>
+ * Marks are lost when the application stops, and players written behind the services' back, e.g.
+ * by an import, are never marked. {@link #repair()} recounts every drifted counter in chunks at
+ * startup, after imports and every {@code tournaments.registered-players.repair-interval}.
+ */
+@Slf4j
+@Component
+public class RegisteredPlayersCounter {
+
+  private static final int CHUNK = 500;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TournamentRepository tournamentRepository;
+  private final CacheManager cacheManager;
+  private final TournamentListVersion listVersion;
+  private final ApplicationEventPublisher eventPublisher;
+  private final Set<Long> changed = ConcurrentHashMap.newKeySet();
+
+  public RegisteredPlayersCounter(JdbcTemplate jdbcTemplate, TournamentRepository tournamentRepository,
+      CacheManager cacheManager, TournamentListVersion listVersion, ApplicationEventPublisher eventPublisher) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.tournamentRepository = tournamentRepository;
+    this.cacheManager = cacheManager;
+    this.listVersion = listVersion;
+    this.eventPublisher = eventPublisher;
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onPlayerChanged(PlayerChangedEvent event) {
+    changed.add(event.tournamentId());
+  }
+
+  /**
+   * Recounts the tournaments whose players changed since the last flush. Returns how many were
+   * recounted.
+   */
+  @Scheduled(fixedDelayString = "${tournaments.registered-players.flush-interval:PT1S}")
+  public int flush() {
+    List<Long> ids = new ArrayList<>();
+    // A tournament marked again while flushing is recounted by the next flush
+    for (Long id : changed) {
+      if (changed.remove(id)) {
+        ids.add(id);
+      }
+    }
+
+    int recounted = 0;
+    for (int from = 0; from < ids.size(); from += CHUNK) {
+      List<Long> chunk = ids.subList(from, Math.min(from + CHUNK, ids.size()));
+      try {
+        recounted += tournamentRepository.recountPlayers(chunk);
+      } catch (RuntimeException e) {
+        changed.addAll(ids.subList(from, ids.size()));
+        throw e;
+      }
+      recounted(chunk);
+    }
+    return recounted;
+  }
+
+  /**
+   * Recounts the players of every tournament and fixes the counters that drifted. Returns how many
+   * were fixed.
+   */
+  @EventListener({ApplicationReadyEvent.class, DataImportedEvent.class})
+  @Scheduled(fixedDelayString = "${tournaments.registered-players.repair-interval:PT15M}",
+      initialDelayString = "${tournaments.registered-players.repair-interval:PT15M}")
+  public int repair() {
+    int repaired = 0;
+    long afterId = 0;
+    while (true) {
+      List<Long> ids = jdbcTemplate.queryForList(
+          "select id from tournament where id > ? order by id fetch first " + CHUNK + " rows only",
+          Long.class, afterId);
+      if (ids.isEmpty()) {
+        break;
+      }
+      long first = ids.getFirst();
+      afterId = ids.getLast();
+
+      List<Long> drifted = jdbcTemplate.queryForList("select t.id from tournament t where t.id between ? and ?"
+          + " and t.registered_players <> (select count(*) from player p where p.tournament_id = t.id)",
+          Long.class, first, afterId);
+      if (drifted.isEmpty()) {
+        continue;
+      }
+      // Counted again in the update, so registrations committed since the select are included
+      repaired += tournamentRepository.recountPlayers(drifted);
+      recounted(drifted);
+    }
+    if (repaired > 0) {
+      log.info("Repaired the registered players of {} tournaments", repaired);
+    }
+    return repaired;
+  }
+
+  // The recount has committed, and the second-level cache entries of the tournaments are gone
+  private void recounted(Collection<Long> tournamentIds) {
+    Cache cache = cacheManager.getCache(TournamentService.TOURNAMENTS_CACHE);
+    if (cache != null) {
+      tournamentIds.forEach(cache::evict);
+    }
+    listVersion.advance();
+    eventPublisher.publishEvent(new PlayersRecountedEvent(List.copyOf(tournamentIds)));
+  }
+}
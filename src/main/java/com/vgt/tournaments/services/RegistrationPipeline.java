@@ -0,0 +1,154 @@
+package com.vgt.tournaments.services;
+
+import com.vgt.tournaments.domain.Player;
+import com.vgt.tournaments.dto.CreatePlayerDto;
+import com.vgt.tournaments.services.PlayerService.Registration;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind front of {@link PlayerService#create(CreatePlayerDto)}. Registrations are queued
+ * and a single writer thread commits them in groups of up to {@code max-batch-size} players,
+ * waiting at most {@code max-delay} for a group to fill, so concurrent callers share one
+ * transaction and one round of JDBC batches instead of paying a commit each.
+ * <p>
+ * A caller's future completes only after the transaction holding its registration has committed,
+ * so an acknowledged registration is as durable as one made through the synchronous path. When
+ * the queue is full the future fails with {@link IllegalStateException} instead of blocking.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "tournaments.registration.group-commit.enabled", havingValue = "true")
+public class RegistrationPipeline {
+
+  private static final long IDLE_POLL_MILLIS = 100;
+
+  private final PlayerService playerService;
+  private final int maxBatchSize;
+  private final long maxDelayNanos;
+  private final BlockingQueue<PendingRegistration> queue;
+  private final Thread writer;
+  private volatile boolean running = true;
+
+  public RegistrationPipeline(PlayerService playerService,
+      @Value("${tournaments.registration.group-commit.max-batch-size:64}") int maxBatchSize,
+      @Value("${tournaments.registration.group-commit.max-delay:PT0.005S}") Duration maxDelay,
+      @Value("${tournaments.registration.group-commit.queue-capacity:10000}") int queueCapacity) {
+    if (maxBatchSize < 1 || maxBatchSize > PlayerService.MAX_BATCH_SIZE) {
+      throw new IllegalArgumentException("The group size must be between 1 and " + PlayerService.MAX_BATCH_SIZE);
+    }
+    this.playerService = playerService;
+    this.maxBatchSize = maxBatchSize;
+    this.maxDelayNanos = maxDelay.toNanos();
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    this.writer = Thread.ofPlatform().name("registration-writer").daemon().start(this::run);
+  }
+
+  public CompletableFuture<Player> submit(CreatePlayerDto dto) {
+    CompletableFuture<Player> result = new CompletableFuture<>();
+    if (!running || !queue.offer(new PendingRegistration(dto, result))) {
+      result.completeExceptionally(new IllegalStateException("The registration queue is full, retry later"));
+    }
+    return result;
+  }
+
+  public int pending() {
+    return queue.size();
+  }
+
+  @PreDestroy
+  public void shutdown() throws InterruptedException {
+    running = false;
+    writer.join(TimeUnit.SECONDS.toMillis(30));
+  }
+
+  private void run() {
+    List<PendingRegistration> group = new ArrayList<>(maxBatchSize);
+    while (running || !queue.isEmpty()) {
+      try {
+        collect(group);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        running = false;
+      }
+      if (!group.isEmpty()) {
+        commit(group);
+        group.clear();
+      }
+    }
+    // Only registrations that raced with shutdown can be left here.
+    queue.drainTo(group);
+    group.forEach(registration -> registration.result()
+        .completeExceptionally(new IllegalStateException("The registration pipeline is shut down")));
+  }
+
+  /**
+   * Waits briefly for the first registration, then gathers more until the group is full or the
+   * oldest registration in it has waited {@code max-delay}.
+   */
+  private void collect(List<PendingRegistration> group) throws InterruptedException {
+    PendingRegistration first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+    if (first == null) {
+      return;
+    }
+    group.add(first);
+    long deadline = System.nanoTime() + maxDelayNanos;
+    while (group.size() < maxBatchSize) {
+      if (queue.drainTo(group, maxBatchSize - group.size()) > 0) {
+        continue;
+      }
+      long remaining = deadline - System.nanoTime();
+      if (remaining <= 0 || !running) {
+        return;
+      }
+      PendingRegistration next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+      if (next == null) {
+        return;
+      }
+      group.add(next);
+    }
+  }
+
+  private void commit(List<PendingRegistration> group) {
+    List<Registration> registrations;
+    try {
+      registrations = playerService.createGroup(group.stream().map(PendingRegistration::dto).toList());
+    } catch (RuntimeException e) {
+      // The whole group rolled back; retry one by one so a single bad row only fails its own caller.
+      log.warn("Group commit of {} registrations failed, retrying individually", group.size(), e);
+      group.forEach(this::commitAlone);
+      return;
+    }
+
+    for (int i = 0; i < group.size(); i++) {
+      Registration registration = registrations.get(i);
+      if (registration.error() != null) {
+        group.get(i).result().completeExceptionally(registration.error());
+      } else {
+        group.get(i).result().complete(registration.player());
+      }
+    }
+  }
+
+  private void commitAlone(PendingRegistration registration) {
+    try {
+      registration.result().complete(playerService.create(registration.dto()));
+    } catch (RuntimeException e) {
+      registration.result().completeExceptionally(e);
+    }
+  }
+
+  private record PendingRegistration(CreatePlayerDto dto, CompletableFuture<Player> result) {
+  }
+}
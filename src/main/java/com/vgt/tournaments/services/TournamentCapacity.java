@@ -0,0 +1,205 @@
+package com.vgt.tournaments.services;
+
+import com.vgt.tournaments.domain.Tournament;
+import com.vgt.tournaments.events.DataImportedEvent;
+import com.vgt.tournaments.events.TournamentChangedEvent;
+import com.vgt.tournaments.events.TournamentChangedEvent.ChangeType;
+import com.vgt.tournaments.repositories.PlayerRepository;
+import com.vgt.tournaments.repositories.TournamentPlayerCount;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admits player registrations against {@link Tournament#getMaxPlayers()} without locking the
+ * tournament row. Every tournament gets a slot counter seeded from {@link PlayerRepository}
+ * that is reserved with a CAS before the insert and settled when the transaction completes,
+ * so concurrent registrations for the same tournament never overshoot its capacity. The tournament
+ * row is never written by a registration: {@link RegisteredPlayersCounter} persists
+ * {@link Tournament#getRegisteredPlayers()} out of band.
+ * <p>
+ * The counters live in this JVM: they assume a single application instance writes players.
+ */
+@Slf4j
+@Component
+public class TournamentCapacity {
+
+  private static final int RECONCILE_CHUNK = 500;
+
+  private final PlayerRepository playerRepository;
+  private final Map<Long, Slots> slotsByTournament = new ConcurrentHashMap<>();
+
+  public TournamentCapacity(PlayerRepository playerRepository) {
+    this.playerRepository = playerRepository;
+  }
+
+  /**
+   * Reserves {@code count} slots or throws when the tournament is full. Inside a transaction the
+   * reservation becomes permanent on commit and is given back on rollback.
+   */
+  public void reserve(Tournament tournament, int count) {
+    Slots slots = slots(tournament.getId());
+
+    if (!slots.tryAcquire(count, tournament.getMaxPlayers())) {
+      throw new IllegalArgumentException("The tournament is full");
+    }
+
+    afterCompletion(committed -> slots.settle(count, committed));
+  }
+
+  /**
+   * Gives back a slot of a deleted player once the deletion is committed.
+   */
+  public void release(Long tournamentId) {
+    Slots slots = slotsByTournament.get(tournamentId);
+    if (slots != null) {
+      afterCompletion(committed -> {
+        if (committed) {
+          slots.release(1);
+        }
+      });
+    }
+  }
+
+  public void forget(Long tournamentId) {
+    slotsByTournament.remove(tournamentId);
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onTournamentChanged(TournamentChangedEvent event) {
+    // The players went with the tournament, a counter left behind would only be reconciled forever
+    if (event.type() == ChangeType.DELETED) {
+      forget(event.tournamentId());
+    }
+  }
+
+  /**
+   * Re-reads the registered players of every tracked tournament and corrects drifted counters.
+   * A counter that changed while its tournament was being counted is left for the next run.
+   */
+  @EventListener(DataImportedEvent.class)
+  @Scheduled(fixedDelayString = "${tournaments.capacity.reconcile-interval:PT5M}")
+  public void reconcile() {
+    List<Long> ids = new ArrayList<>(slotsByTournament.keySet());
+
+    for (int from = 0; from < ids.size(); from += RECONCILE_CHUNK) {
+      List<Long> chunk = ids.subList(from, Math.min(from + RECONCILE_CHUNK, ids.size()));
+
+      // The states must be read before the counts: a registration committing in between is then
+      // counted twice (never admitted in excess) until the next run
+      Map<Long, Long> states = new HashMap<>();
+      chunk.forEach(id -> {
+        Slots slots = slotsByTournament.get(id);
+        if (slots != null) {
+          states.put(id, slots.state.get());
+        }
+      });
+
+      Map<Long, Long> counts = new HashMap<>();
+      playerRepository.countByTournamentIds(chunk)
+          .forEach(count -> counts.put(count.getTournamentId(), count.getPlayers()));
+
+      states.forEach((id, state) -> {
+        Slots slots = slotsByTournament.get(id);
+        if (slots != null && slots.reconcile(state, counts.getOrDefault(id, 0L).intValue())) {
+          log.info("Reconciled registered players of tournament {}", id);
+        }
+      });
+    }
+  }
+
+  private Slots slots(Long tournamentId) {
+    return slotsByTournament.computeIfAbsent(tournamentId,
+        id -> new Slots((int) playerRepository.countByTournamentId(id)));
+  }
+
+  private static void afterCompletion(CompletionCallback callback) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      callback.completed(true);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        callback.completed(status == STATUS_COMMITTED);
+      }
+    });
+  }
+
+  private interface CompletionCallback {
+    void completed(boolean committed);
+  }
+
+  /**
+   * Used slots (committed plus in flight) in the high 32 bits and in-flight reservations in the
+   * low 32 bits, so that every transition is a single CAS.
+   */
+  private static final class Slots {
+
+    private final AtomicLong state;
+
+    private Slots(int registered) {
+      this.state = new AtomicLong(pack(registered, 0));
+    }
+
+    private boolean tryAcquire(int count, int maxPlayers) {
+      while (true) {
+        long current = state.get();
+        int used = used(current);
+        if (used + count > maxPlayers) {
+          return false;
+        }
+        if (state.compareAndSet(current, pack(used + count, inFlight(current) + count))) {
+          return true;
+        }
+      }
+    }
+
+    private void settle(int count, boolean committed) {
+      while (true) {
+        long current = state.get();
+        int used = committed ? used(current) : used(current) - count;
+        if (state.compareAndSet(current, pack(used, inFlight(current) - count))) {
+          return;
+        }
+      }
+    }
+
+    private void release(int count) {
+      while (true) {
+        long current = state.get();
+        if (state.compareAndSet(current, pack(Math.max(0, used(current) - count), inFlight(current)))) {
+          return;
+        }
+      }
+    }
+
+    private boolean reconcile(long expected, int registered) {
+      long reconciled = pack(registered + inFlight(expected), inFlight(expected));
+      return reconciled != expected && state.compareAndSet(expected, reconciled);
+    }
+
+    private static long pack(int used, int inFlight) {
+      return ((long) used << 32) | (inFlight & 0xFFFFFFFFL);
+    }
+
+    private static int used(long state) {
+      return (int) (state >>> 32);
+    }
+
+    private static int inFlight(long state) {
+      return (int) state;
+    }
+  }
+}
@@ -0,0 +1,53 @@
+package com.vgt.tournaments.services;
+
+import com.vgt.tournaments.events.DataImportedEvent;
+import com.vgt.tournaments.events.TournamentChangedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version of the tournament collection as a whole, used as the ETag of the listings. Any created,
+ * updated, started or deleted tournament moves it forward, and so do bulk imports and the recounts
+ * of {@link RegisteredPlayersCounter}, which change the registered players of a tournament.
+ * <p>
+ * The counter lives in memory, so it is prefixed with the boot time of this instance: a restart
+ * can never hand out a tag that an earlier run already used for different content. Changes made in
+ * a transaction bump it both before and after the commit, so no listing read while the change was
+ * committing is tagged with a version that outlives it.
+ */
+@Component
+public class TournamentListVersion {
+
+  private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+  private final AtomicLong version = new AtomicLong();
+
+  public String current() {
+    return epoch + "-" + version.get();
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+  public void beforeCommit(TournamentChangedEvent event) {
+    version.incrementAndGet();
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void afterCommit(TournamentChangedEvent event) {
+    version.incrementAndGet();
+  }
+
+  @EventListener
+  public void onImported(DataImportedEvent event) {
+    advance();
+  }
+
+  /**
+   * For writers that change tournaments without publishing events.
+   */
+  public void advance() {
+    version.incrementAndGet();
+  }
+}
@@ -0,0 +1,110 @@
+package com.vgt.tournaments.services;
+
+import com.vgt.tournaments.domain.enums.TournamentStatus;
+import com.vgt.tournaments.dto.TournamentPurgeResult;
+import com.vgt.tournaments.events.PlayersRemovedEvent;
+import com.vgt.tournaments.events.TournamentChangedEvent;
+import com.vgt.tournaments.events.TournamentChangedEvent.ChangeType;
+import com.vgt.tournaments.repositories.TournamentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Deletes every tournament with a status that started before a date, together with its players.
+ * <p>
+ * The work is split in transactions of {@code tournaments.purge.chunk-size} tournaments: each one
+ * locks the next chunk of matching rows and removes their players and then the tournaments with one
+ * statement each. Nothing is loaded into the persistence context, and no transaction holds more
+ * than a chunk of rows locked, so a large cleanup neither grows the heap nor stalls other writers.
+ * A failed chunk rolls back alone, the chunks before it stay deleted.
+ */
+@Slf4j
+@Service
+public class TournamentPurger {
+
+  private final TournamentRepository tournamentRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final ApplicationEventPublisher eventPublisher;
+  private final CacheManager cacheManager;
+  private final int chunkSize;
+
+  public TournamentPurger(TournamentRepository tournamentRepository, TransactionTemplate transactionTemplate,
+      ApplicationEventPublisher eventPublisher, CacheManager cacheManager,
+      @Value("${tournaments.purge.chunk-size:500}") int chunkSize) {
+    if (chunkSize < 1) {
+      throw new IllegalArgumentException("The chunk size must be positive");
+    }
+    this.tournamentRepository = tournamentRepository;
+    this.transactionTemplate = transactionTemplate;
+    this.eventPublisher = eventPublisher;
+    this.cacheManager = cacheManager;
+    this.chunkSize = chunkSize;
+  }
+
+  public TournamentPurgeResult purge(TournamentStatus status, LocalDate before) {
+
+    validatePurge(status, before);
+
+    log.info("Purging {} tournaments that started before {}", status, before);
+
+    int tournaments = 0;
+    int players = 0;
+    Cache cache = cacheManager.getCache(TournamentService.TOURNAMENTS_CACHE);
+    while (true) {
+      Chunk chunk = transactionTemplate.execute(tx -> purgeChunk(status, before.toEpochDay()));
+      if (chunk == null || chunk.ids().isEmpty()) {
+        break;
+      }
+      // Evicted after the commit, a read in between could otherwise cache a row being deleted
+      if (cache != null) {
+        chunk.ids().forEach(cache::evict);
+      }
+      tournaments += chunk.tournaments();
+      players += chunk.players();
+    }
+
+    log.info("Purged {} tournaments and {} players", tournaments, players);
+    return new TournamentPurgeResult(tournaments, players);
+  }
+
+  private Chunk purgeChunk(TournamentStatus status, long before) {
+    List<Long> ids = tournamentRepository.lockIdsByStatusAndStartDateBefore(status, before, Limit.of(chunkSize));
+    if (ids.isEmpty()) {
+      return new Chunk(ids, 0, 0);
+    }
+
+    int players = tournamentRepository.deletePlayersOf(ids);
+    int tournaments = tournamentRepository.deleteAllByIds(ids);
+
+    // Published in the transaction so listeners only hear about chunks that committed
+    ids.forEach(id -> eventPublisher.publishEvent(new TournamentChangedEvent(id, ChangeType.DELETED, null)));
+    if (players > 0) {
+      eventPublisher.publishEvent(new PlayersRemovedEvent(ids, players));
+    }
+    return new Chunk(ids, tournaments, players);
+  }
+
+  private static void validatePurge(TournamentStatus status, LocalDate before) {
+    if (status == null) {
+      throw new IllegalArgumentException("The status is required");
+    }
+    if (status.isStarted()) {
+      throw new IllegalArgumentException("Started tournaments can not be deleted");
+    }
+    if (before == null) {
+      throw new IllegalArgumentException("The date is required");
+    }
+  }
+
+  private record Chunk(List<Long> ids, int tournaments, int players) {
+  }
+}
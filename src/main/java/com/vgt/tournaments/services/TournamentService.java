@@ -4,22 +4,44 @@ import com.vgt.tournaments.dto.UpdateTournamentDto;
 import com.vgt.tournaments.domain.Tournament;
 import com.vgt.tournaments.domain.enums.TournamentStatus;
 import com.vgt.tournaments.dto.CreateTournamentDto;
+import com.vgt.tournaments.dto.PatchTournamentDto;
+import com.vgt.tournaments.dto.TournamentFilter;
+import com.vgt.tournaments.dto.TournamentPage;
+import com.vgt.tournaments.dto.TournamentPatchResult;
+import com.vgt.tournaments.events.PlayersRemovedEvent;
+import com.vgt.tournaments.events.TournamentChangedEvent;
+import com.vgt.tournaments.events.TournamentChangedEvent.ChangeType;
 import com.vgt.tournaments.repositories.TournamentRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.time.LocalDate;
 import java.util.List;
 
+import static com.vgt.tournaments.repositories.TournamentSpecifications.*;
+
 @Slf4j
 @Service
 public class TournamentService {
 
+  public static final int MAX_PAGE_SIZE = 500;
+
+  public static final String TOURNAMENTS_CACHE = "tournaments";
+
   private final TournamentRepository tournamentRepository;
+  private final ApplicationEventPublisher eventPublisher;
 
-  public TournamentService(TournamentRepository tournamentRepository) {
+  public TournamentService(TournamentRepository tournamentRepository, ApplicationEventPublisher eventPublisher) {
     this.tournamentRepository = tournamentRepository;
+    this.eventPublisher = eventPublisher;
   }
 
   public Tournament create(CreateTournamentDto dto) {
@@ -40,13 +62,42 @@ public class TournamentService {
 
     // TODO Investigate if the tournament can repeat the name
 
-    return tournamentRepository.save(tournament);
+    Tournament created = tournamentRepository.save(tournament);
+    eventPublisher.publishEvent(TournamentChangedEvent.of(ChangeType.CREATED, created));
+    return created;
   }
 
   public List<Tournament> findAll() {
       return tournamentRepository.findAll();
   }
 
+  public TournamentPage findPage(Long afterId, int size, TournamentFilter filter) {
+
+    validatePageSize(size);
+
+    Specification<Tournament> specification = Specification.allOf(
+        idAfter(afterId),
+        hasStatus(filter.status()),
+        hasGameTitle(filter.gameTitle()),
+        startsFrom(toEpochDay(filter.startDateFrom())),
+        startsUntil(toEpochDay(filter.startDateTo())));
+
+    // One extra row tells us whether there is a next page without a count query
+    List<Tournament> tournaments = tournamentRepository.findBy(specification, query -> query
+        .sortBy(Sort.by("id"))
+        .limit(size + 1)
+        .all());
+
+    if (tournaments.size() <= size) {
+      return new TournamentPage(tournaments, null);
+    }
+
+    List<Tournament> page = tournaments.subList(0, size);
+    return new TournamentPage(page, page.get(size - 1).getId());
+  }
+
+  // sync loads let an eviction wait for an in-flight load, so a stale row can not be re-cached
+  @Cacheable(cacheNames = TOURNAMENTS_CACHE, key = "#id", sync = true)
   public Tournament findById(Long id) {
     return tournamentRepository.findById(id)
         .orElseThrow(() -> new EntityNotFoundException("The tournament does not exist"));
@@ -64,11 +115,55 @@ public class TournamentService {
         .name(dto.name())
         .gameTitle(dto.gameTitle())
         .maxPlayers(dto.maxPlayers())
-        .startDate(dto.startDate().toEpochDay())
-        .status(dto.status())
+        .startDate(dto.startDate() == null ? currentTournament.getStartDate() : dto.startDate().toEpochDay())
+        .status(dto.status() == null ? currentTournament.getStatus() : dto.status())
         .build();
 
-    return tournamentRepository.save(tournament);
+    Tournament updated = tournamentRepository.save(tournament);
+    eventPublisher.publishEvent(TournamentChangedEvent.of(ChangeType.UPDATED, updated));
+    return updated;
+  }
+
+  /**
+   * Applies the provided fields with a single conditional UPDATE, without loading the tournament
+   * first. The started guard of {@link #update} is part of the statement, and so is the capacity
+   * guard, so {@code applied} is {@code false} when the tournament has started, does not exist or
+   * already has more players than the new maximum. A patch without fields writes nothing.
+   */
+  public TournamentPatchResult patch(Long id, PatchTournamentDto dto) {
+
+    log.info("Patching {}: {}", id, dto);
+
+    if (dto.name() == null && dto.gameTitle() == null && dto.maxPlayers() == null && dto.startDate() == null
+        && dto.status() == null) {
+      return new TournamentPatchResult(id, false);
+    }
+
+    if (dto.maxPlayers() != null) {
+      validateMaxPlayers(dto.maxPlayers());
+    }
+    if (dto.startDate() != null) {
+      validateStartDate(dto.startDate());
+    }
+
+    boolean applied = tournamentRepository.patchUnlessStarted(id, dto.name(), dto.gameTitle(), dto.maxPlayers(),
+        toEpochDay(dto.startDate()), dto.status()) == 1;
+
+    if (applied) {
+      // Listeners get the new state, which only a read can tell after a partial update
+      tournamentRepository.findById(id)
+          .ifPresent(patched -> eventPublisher.publishEvent(TournamentChangedEvent.of(ChangeType.UPDATED, patched)));
+    }
+    return new TournamentPatchResult(id, applied);
+  }
+
+  /**
+   * Evicts a changed tournament once its change has committed. Evicting in the writing method could
+   * run before the commit, and a concurrent {@link #findById} would then cache the row as it was.
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  @CacheEvict(cacheNames = TOURNAMENTS_CACHE, key = "#event.tournamentId()")
+  public void onTournamentChanged(TournamentChangedEvent event) {
   }
 
   private static void validateTournamentUpdate(TournamentStatus status) {
@@ -77,15 +172,35 @@ public class TournamentService {
           throw new IllegalArgumentException("The Tournament has started");
       }
   }
+  /**
+   * Deletes the tournament together with its players. The players go in one statement whatever
+   * their number, none of them is loaded.
+   */
+  @Transactional
   public void delete(Long id) {
     Tournament deletedTournament = tournamentRepository.findById(id)
         .orElseThrow(() -> new IllegalArgumentException("Tournament not found with ID: " + id));
 
     validateTournamentStatusForDeletion(deletedTournament.getStatus());
+    int players = tournamentRepository.deletePlayersOf(List.of(id));
     tournamentRepository.delete(deletedTournament);
+    eventPublisher.publishEvent(TournamentChangedEvent.of(ChangeType.DELETED, deletedTournament));
+    if (players > 0) {
+      eventPublisher.publishEvent(new PlayersRemovedEvent(List.of(id), players));
+    }
   }
 
 
+  private static void validatePageSize(int size) {
+    if (size < 1 || size > MAX_PAGE_SIZE) {
+      throw new IllegalArgumentException("The page size must be between 1 and " + MAX_PAGE_SIZE);
+    }
+  }
+
+  private static Long toEpochDay(LocalDate date) {
+    return date == null ? null : date.toEpochDay();
+  }
+
   private static void validateMaxPlayers(int maxPlayers) {
     if (maxPlayers <= 1) {
       throw new IllegalArgumentException("The minimum number of players is 2");
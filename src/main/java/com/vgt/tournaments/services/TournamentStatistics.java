@@ -0,0 +1,171 @@
+package com.vgt.tournaments.services;
+
+import com.vgt.tournaments.domain.Tournament;
+import com.vgt.tournaments.domain.enums.TournamentStatus;
+import com.vgt.tournaments.dto.TournamentStats;
+import com.vgt.tournaments.events.DataImportedEvent;
+import com.vgt.tournaments.events.PlayerChangedEvent;
+import com.vgt.tournaments.events.PlayersRemovedEvent;
+import com.vgt.tournaments.events.TournamentChangedEvent;
+import com.vgt.tournaments.repositories.PlayerRepository;
+import com.vgt.tournaments.repositories.TournamentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Tournament counts by status and game title plus the registered players, kept in
+ * {@link LongAdder}s that follow every committed change, so writers never contend on a counter
+ * and reading the statistics never touches the database.
+ * <p>
+ * The status and game title of each tournament are remembered to know which counters an update
+ * or delete moves. Everything is recounted from the database when the application starts and
+ * every {@code tournaments.stats.reconcile-interval}, which repairs changes missed while a
+ * recount was running.
+ */
+@Slf4j
+@Service
+public class TournamentStatistics {
+
+  private record State(TournamentStatus status, String gameTitle) {
+  }
+
+  private final TournamentRepository tournamentRepository;
+  private final PlayerRepository playerRepository;
+  private final TransactionTemplate transactionTemplate;
+
+  // Changes share the read lock, a recount swaps everything under the write lock
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final Map<Long, State> states = new ConcurrentHashMap<>();
+  private final Map<TournamentStatus, LongAdder> byStatus = new EnumMap<>(TournamentStatus.class);
+  private final Map<String, LongAdder> byGameTitle = new ConcurrentHashMap<>();
+  private final LongAdder registeredPlayers = new LongAdder();
+
+  public TournamentStatistics(TournamentRepository tournamentRepository, PlayerRepository playerRepository,
+      TransactionTemplate transactionTemplate) {
+    this.tournamentRepository = tournamentRepository;
+    this.playerRepository = playerRepository;
+    this.transactionTemplate = transactionTemplate;
+    for (TournamentStatus status : TournamentStatus.values()) {
+      byStatus.put(status, new LongAdder());
+    }
+  }
+
+  public TournamentStats stats() {
+    Map<TournamentStatus, Long> statuses = new EnumMap<>(TournamentStatus.class);
+    byStatus.forEach((status, count) -> statuses.put(status, count.sum()));
+
+    Map<String, Long> gameTitles = new TreeMap<>();
+    byGameTitle.forEach((gameTitle, count) -> {
+      long sum = count.sum();
+      if (sum > 0) {
+        gameTitles.put(gameTitle, sum);
+      }
+    });
+
+    return new TournamentStats(states.size(), statuses, gameTitles, registeredPlayers.sum());
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onTournamentChanged(TournamentChangedEvent event) {
+    switch (event.type()) {
+      case CREATED, UPDATED -> apply(event.tournamentId(), state(event.tournament()));
+      case DELETED -> apply(event.tournamentId(), null);
+      // Bulk status changes do not carry the row
+      case STATUS_CHANGED -> apply(event.tournamentId(),
+          tournamentRepository.findById(event.tournamentId()).map(TournamentStatistics::state).orElse(null));
+    }
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onPlayerChanged(PlayerChangedEvent event) {
+    lock.readLock().lock();
+    try {
+      registeredPlayers.add(event.type() == PlayerChangedEvent.ChangeType.REGISTERED ? 1 : -1);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onPlayersRemoved(PlayersRemovedEvent event) {
+    lock.readLock().lock();
+    try {
+      registeredPlayers.add(-event.players());
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @EventListener({ApplicationReadyEvent.class, DataImportedEvent.class})
+  @Scheduled(fixedDelayString = "${tournaments.stats.reconcile-interval:PT10M}",
+      initialDelayString = "${tournaments.stats.reconcile-interval:PT10M}")
+  public void reconcile() {
+    Map<Long, State> counted = new HashMap<>();
+    transactionTemplate.executeWithoutResult(status -> {
+      try (var tournaments = tournamentRepository.streamStates()) {
+        tournaments.forEach(tournament -> counted.put(tournament.getId(),
+            new State(tournament.getStatus(), tournament.getGameTitle())));
+      }
+    });
+    long players = playerRepository.count();
+
+    lock.writeLock().lock();
+    try {
+      if (states.size() != counted.size() || registeredPlayers.sum() != players) {
+        log.info("Reconciled tournament statistics: {} tournaments (was {}), {} players (was {})",
+            counted.size(), states.size(), players, registeredPlayers.sum());
+      }
+
+      states.clear();
+      states.putAll(counted);
+      byStatus.values().forEach(LongAdder::reset);
+      byGameTitle.clear();
+      counted.values().forEach(state -> count(state, 1));
+      registeredPlayers.reset();
+      registeredPlayers.add(players);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private void apply(Long tournamentId, State next) {
+    lock.readLock().lock();
+    try {
+      State previous = next == null ? states.remove(tournamentId) : states.put(tournamentId, next);
+      count(previous, -1);
+      count(next, 1);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private void count(State state, long delta) {
+    if (state == null) {
+      return;
+    }
+    if (state.status() != null) {
+      byStatus.get(state.status()).add(delta);
+    }
+    if (state.gameTitle() != null) {
+      byGameTitle.computeIfAbsent(state.gameTitle(), gameTitle -> new LongAdder()).add(delta);
+    }
+  }
+
+  private static State state(Tournament tournament) {
+    return new State(tournament.getStatus(), tournament.getGameTitle());
+  }
+}
@@ -0,0 +1,154 @@
+package com.vgt.tournaments.services;
+
+import com.vgt.tournaments.domain.Tournament;
+import com.vgt.tournaments.domain.enums.TournamentStatus;
+import com.vgt.tournaments.events.DataImportedEvent;
+import com.vgt.tournaments.events.TournamentChangedEvent;
+import com.vgt.tournaments.events.TournamentChangedEvent.ChangeType;
+import com.vgt.tournaments.repositories.TournamentRepository;
+import com.vgt.tournaments.repositories.TournamentStartDate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Starts UPCOMING tournaments when their start date arrives.
+ * <p>
+ * Start dates are whole days, so pending tournaments are kept in day buckets ordered by date and
+ * every tick only looks at the first bucket. Nothing is scanned in the database: the buckets are
+ * loaded once at startup and then follow the {@link TournamentChangedEvent}s of
+ * {@link TournamentService}. Due tournaments are started with chunked bulk updates that only touch
+ * rows still UPCOMING, so a concurrent manual change always wins.
+ */
+@Slf4j
+@Component
+public class TournamentStatusScheduler {
+
+  private static final int UPDATE_CHUNK = 500;
+
+  private final TournamentRepository tournamentRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final ApplicationEventPublisher eventPublisher;
+  private final CacheManager cacheManager;
+
+  private final NavigableMap<Long, Set<Long>> idsByStartDay = new TreeMap<>();
+  private final Map<Long, Long> startDayById = new HashMap<>();
+
+  public TournamentStatusScheduler(TournamentRepository tournamentRepository, TransactionTemplate transactionTemplate,
+      ApplicationEventPublisher eventPublisher, CacheManager cacheManager) {
+    this.tournamentRepository = tournamentRepository;
+    this.transactionTemplate = transactionTemplate;
+    this.eventPublisher = eventPublisher;
+    this.cacheManager = cacheManager;
+  }
+
+  @EventListener({ApplicationReadyEvent.class, DataImportedEvent.class})
+  public void load() {
+    transactionTemplate.executeWithoutResult(status -> {
+      try (Stream<TournamentStartDate> upcoming = tournamentRepository.streamStartDatesByStatus(TournamentStatus.UPCOMING)) {
+        upcoming.forEach(tournament -> schedule(tournament.getId(), tournament.getStartDate()));
+      }
+    });
+    log.info("Scheduled {} upcoming tournaments", pending());
+  }
+
+  @EventListener
+  public void onTournamentChanged(TournamentChangedEvent event) {
+    Tournament tournament = event.tournament();
+    if (event.type() == ChangeType.STATUS_CHANGED) {
+      return;
+    }
+    if (event.type() == ChangeType.DELETED || tournament == null
+        || tournament.getStatus() != TournamentStatus.UPCOMING || tournament.getStartDate() == null) {
+      unschedule(event.tournamentId());
+    } else {
+      schedule(tournament.getId(), tournament.getStartDate());
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${tournaments.status-scheduler.interval:PT1M}")
+  public void startDueTournaments() {
+    List<Long> due = pollDue(LocalDate.now().toEpochDay());
+    if (due.isEmpty()) {
+      return;
+    }
+
+    int started = 0;
+    for (int from = 0; from < due.size(); from += UPDATE_CHUNK) {
+      List<Long> chunk = due.subList(from, Math.min(from + UPDATE_CHUNK, due.size()));
+      List<Long> changed;
+      try {
+        changed = transactionTemplate.execute(status -> startUpcoming(chunk));
+      } catch (RuntimeException e) {
+        log.error("Could not start {} tournaments, they will be retried", chunk.size(), e);
+        long today = LocalDate.now().toEpochDay();
+        chunk.forEach(id -> schedule(id, today));
+        continue;
+      }
+      started += changed.size();
+
+      Cache cache = cacheManager.getCache(TournamentService.TOURNAMENTS_CACHE);
+      for (Long id : changed) {
+        if (cache != null) {
+          cache.evict(id);
+        }
+        eventPublisher.publishEvent(new TournamentChangedEvent(id, ChangeType.STATUS_CHANGED, null));
+      }
+    }
+    log.info("Started {} of {} due tournaments", started, due.size());
+  }
+
+  /**
+   * Starts the tournaments of {@code ids} that are still UPCOMING and returns them. They are locked
+   * first, so only the rows the update really changes are announced.
+   */
+  private List<Long> startUpcoming(List<Long> ids) {
+    List<Long> upcoming = tournamentRepository.lockIdsByIdInAndStatus(ids, TournamentStatus.UPCOMING);
+    if (!upcoming.isEmpty()) {
+      tournamentRepository.startUpcoming(upcoming);
+    }
+    return upcoming;
+  }
+
+  public synchronized int pending() {
+    return startDayById.size();
+  }
+
+  synchronized void schedule(Long id, Long startDay) {
+    unschedule(id);
+    startDayById.put(id, startDay);
+    idsByStartDay.computeIfAbsent(startDay, day -> new HashSet<>()).add(id);
+  }
+
+  synchronized void unschedule(Long id) {
+    Long startDay = startDayById.remove(id);
+    if (startDay == null) {
+      return;
+    }
+    Set<Long> ids = idsByStartDay.get(startDay);
+    ids.remove(id);
+    if (ids.isEmpty()) {
+      idsByStartDay.remove(startDay);
+    }
+  }
+
+  private synchronized List<Long> pollDue(long today) {
+    List<Long> due = new ArrayList<>();
+    while (!idsByStartDay.isEmpty() && idsByStartDay.firstKey() <= today) {
+      Set<Long> ids = idsByStartDay.pollFirstEntry().getValue();
+      ids.forEach(startDayById::remove);
+      due.addAll(ids);
+    }
+    return due;
+  }
+}
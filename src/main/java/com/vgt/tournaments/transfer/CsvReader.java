@@ -0,0 +1,89 @@
+package com.vgt.tournaments.transfer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 reader: comma separated fields, optionally quoted, quotes doubled inside quoted
+ * fields, which may span lines. Reads one record at a time from a buffered reader.
+ */
+final class CsvReader {
+
+  private final Reader reader;
+  private final StringBuilder field = new StringBuilder();
+  private int pending = -2;
+
+  CsvReader(Reader reader) {
+    this.reader = reader;
+  }
+
+  /**
+   * The fields of the next record, or {@code null} at the end of the input. Empty lines are
+   * skipped.
+   */
+  List<String> next() throws IOException {
+    List<String> fields = new ArrayList<>();
+    boolean quoted = false;
+    boolean started = false;
+    field.setLength(0);
+
+    while (true) {
+      int c = read();
+      if (quoted) {
+        if (c == -1) {
+          throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        if (c == '"') {
+          int following = read();
+          if (following == '"') {
+            field.append('"');
+            continue;
+          }
+          quoted = false;
+          pending = following;
+          continue;
+        }
+        field.append((char) c);
+        continue;
+      }
+
+      if (c == -1 || c == '\n' || c == '\r') {
+        if (c == '\r') {
+          int following = read();
+          if (following != '\n') {
+            pending = following;
+          }
+        }
+        if (!started && field.isEmpty() && fields.isEmpty()) {
+          if (c == -1) {
+            return null;
+          }
+          continue;
+        }
+        fields.add(field.toString());
+        return fields;
+      }
+
+      started = true;
+      if (c == ',') {
+        fields.add(field.toString());
+        field.setLength(0);
+      } else if (c == '"' && field.isEmpty()) {
+        quoted = true;
+      } else {
+        field.append((char) c);
+      }
+    }
+  }
+
+  private int read() throws IOException {
+    if (pending != -2) {
+      int c = pending;
+      pending = -2;
+      return c;
+    }
+    return reader.read();
+  }
+}
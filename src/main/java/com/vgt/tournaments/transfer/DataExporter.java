@@ -0,0 +1,186 @@
+package com.vgt.tournaments.transfer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vgt.tournaments.transfer.DataSet.Column;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Writes a whole table to a stream, row by row, straight from a JDBC cursor. Rows are never
+ * mapped to entities nor collected, so the heap used by an export does not depend on the number
+ * of rows; the driver is asked to fetch {@code tournaments.export.fetch-size} rows at a time.
+ */
+@Slf4j
+@Service
+public class DataExporter {
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ObjectMapper objectMapper;
+
+  public DataExporter(DataSource dataSource, ObjectMapper objectMapper,
+      @Value("${tournaments.export.fetch-size:1000}") int fetchSize) {
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.jdbcTemplate.setFetchSize(fetchSize);
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * Writes every row of {@code dataSet} to {@code out} and returns how many were written. The
+   * stream is flushed but not closed.
+   */
+  public long export(DataSet dataSet, DataFormat format, OutputStream out) throws IOException {
+    long start = System.nanoTime();
+    RowWriter writer = format == DataFormat.NDJSON
+        ? new NdjsonWriter(objectMapper.getFactory().createGenerator(out), dataSet.columns())
+        : new CsvWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)), dataSet.columns());
+
+    long[] rows = new long[1];
+    try {
+      writer.begin();
+      jdbcTemplate.query(dataSet.exportSql(), rs -> {
+        try {
+          writer.row(rs);
+        } catch (IOException e) {
+          // Ends the query as well, typically because the client went away
+          throw new UncheckedIOException(e);
+        }
+        rows[0]++;
+      });
+      writer.end();
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+
+    log.info("Exported {} {} as {} in {} ms", rows[0], dataSet, format, (System.nanoTime() - start) / 1_000_000);
+    return rows[0];
+  }
+
+  private interface RowWriter {
+
+    void begin() throws IOException;
+
+    void row(ResultSet rs) throws SQLException, IOException;
+
+    void end() throws IOException;
+  }
+
+  private static final class NdjsonWriter implements RowWriter {
+
+    private final JsonGenerator generator;
+    private final List<Column> columns;
+    private boolean written;
+
+    private NdjsonWriter(JsonGenerator generator, List<Column> columns) {
+      this.generator = generator;
+      this.columns = columns;
+      generator.setRootValueSeparator(new SerializedString("\n"));
+    }
+
+    @Override
+    public void begin() {
+    }
+
+    @Override
+    public void row(ResultSet rs) throws SQLException, IOException {
+      generator.writeStartObject();
+      for (int i = 0; i < columns.size(); i++) {
+        Column column = columns.get(i);
+        generator.writeFieldName(column.name());
+        if (column.type() == DataSet.ColumnType.LONG) {
+          long value = rs.getLong(i + 1);
+          if (rs.wasNull()) {
+            generator.writeNull();
+          } else {
+            generator.writeNumber(value);
+          }
+        } else {
+          generator.writeString(rs.getString(i + 1));
+        }
+      }
+      generator.writeEndObject();
+      written = true;
+    }
+
+    @Override
+    public void end() throws IOException {
+      // The separator only goes between rows, the last line needs its own end
+      if (written) {
+        generator.writeRaw('\n');
+      }
+      generator.flush();
+    }
+  }
+
+  private static final class CsvWriter implements RowWriter {
+
+    private final Writer writer;
+    private final List<Column> columns;
+
+    private CsvWriter(Writer writer, List<Column> columns) {
+      this.writer = writer;
+      this.columns = columns;
+    }
+
+    @Override
+    public void begin() throws IOException {
+      for (int i = 0; i < columns.size(); i++) {
+        if (i > 0) {
+          writer.write(',');
+        }
+        writer.write(columns.get(i).name());
+      }
+      writer.write('\n');
+    }
+
+    @Override
+    public void row(ResultSet rs) throws SQLException, IOException {
+      for (int i = 0; i < columns.size(); i++) {
+        if (i > 0) {
+          writer.write(',');
+        }
+        String value = rs.getString(i + 1);
+        if (value != null) {
+          writeField(value);
+        }
+      }
+      writer.write('\n');
+    }
+
+    @Override
+    public void end() throws IOException {
+      writer.flush();
+    }
+
+    // RFC 4180: fields with separators, quotes or line breaks are quoted and their quotes doubled
+    private void writeField(String value) throws IOException {
+      boolean quoted = false;
+      for (int i = 0; i < value.length() && !quoted; i++) {
+        char c = value.charAt(i);
+        quoted = c == ',' || c == '"' || c == '\n' || c == '\r';
+      }
+      if (!quoted) {
+        writer.write(value);
+        return;
+      }
+      writer.write('"');
+      writer.write(value.replace("\"", "\"\""));
+      writer.write('"');
+    }
+  }
+}
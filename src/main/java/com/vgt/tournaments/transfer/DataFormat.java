@@ -0,0 +1,41 @@
+package com.vgt.tournaments.transfer;
+
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+/**
+ * Wire formats of the export and import endpoints. Both are line oriented, so rows can be written
+ * and parsed one at a time.
+ */
+public enum DataFormat {
+  NDJSON(MediaType.valueOf("application/x-ndjson")),
+  CSV(MediaType.valueOf("text/csv"));
+
+  private final MediaType mediaType;
+
+  DataFormat(MediaType mediaType) {
+    this.mediaType = mediaType;
+  }
+
+  public MediaType mediaType() {
+    return mediaType;
+  }
+
+  public static DataFormat of(String name) {
+    try {
+      return valueOf(name.toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("The format must be ndjson or csv");
+    }
+  }
+
+  public static DataFormat of(MediaType contentType) {
+    for (DataFormat format : values()) {
+      if (format.mediaType.isCompatibleWith(contentType)) {
+        return format;
+      }
+    }
+    throw new IllegalArgumentException("The content type must be " + NDJSON.mediaType + " or " + CSV.mediaType);
+  }
+}
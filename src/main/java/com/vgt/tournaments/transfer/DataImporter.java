@@ -0,0 +1,223 @@
+package com.vgt.tournaments.transfer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vgt.tournaments.domain.enums.TournamentStatus;
+import com.vgt.tournaments.events.DataImportedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Loads tournaments or players from an NDJSON or CSV stream. Records are parsed one at a time and
+ * inserted in JDBC batches of {@code tournaments.import.chunk-size} rows, each chunk in its own
+ * transaction, so the heap used does not depend on the size of the input.
+ * <p>
+ * Imported rows always get new ids, an {@code id} in the input is ignored. Players must reference
+ * an existing tournament; the capacity of the tournament is not enforced. An invalid record fails
+ * the import with {@link IllegalArgumentException}, the chunks before it stay committed.
+ */
+@Slf4j
+@Service
+public class DataImporter {
+
+  private static final String INSERT_TOURNAMENT = "insert into tournament"
+      + " (name, game_title, max_players, start_date, status, version) values (?, ?, ?, ?, ?, 0)";
+
+  private static final String INSERT_PLAYER = "insert into player"
+      + " (id, name, nick_name, tournament_id, registration_date) values (next value for player_seq, ?, ?, ?, ?)";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final ObjectMapper objectMapper;
+  private final ApplicationEventPublisher eventPublisher;
+  private final int chunkSize;
+
+  public DataImporter(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, ObjectMapper objectMapper,
+      ApplicationEventPublisher eventPublisher, @Value("${tournaments.import.chunk-size:1000}") int chunkSize) {
+    if (chunkSize < 1) {
+      throw new IllegalArgumentException("The chunk size must be positive");
+    }
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = transactionTemplate;
+    this.objectMapper = objectMapper;
+    this.eventPublisher = eventPublisher;
+    this.chunkSize = chunkSize;
+  }
+
+  /**
+   * Imports every record of {@code in} and returns how many rows were inserted.
+   */
+  public long importRows(DataSet dataSet, DataFormat format, InputStream in) throws IOException {
+    long start = System.nanoTime();
+    RecordReader reader = format == DataFormat.NDJSON ? ndjson(in) : csv(in);
+
+    List<Object[]> chunk = new ArrayList<>(chunkSize);
+    long rows = 0;
+    try {
+      while (true) {
+        Object[] row;
+        try {
+          Map<String, ?> record = reader.next();
+          if (record == null) {
+            break;
+          }
+          row = dataSet == DataSet.TOURNAMENTS ? tournament(record) : player(record);
+        } catch (IllegalArgumentException e) {
+          throw rejected(rows + chunk.size() + 1, rows, e.getMessage());
+        }
+        chunk.add(row);
+        if (chunk.size() == chunkSize) {
+          rows += insert(dataSet, chunk, rows);
+          chunk.clear();
+        }
+      }
+      if (!chunk.isEmpty()) {
+        rows += insert(dataSet, chunk, rows);
+      }
+    } finally {
+      if (rows > 0) {
+        eventPublisher.publishEvent(new DataImportedEvent(dataSet, rows));
+      }
+    }
+
+    log.info("Imported {} {} from {} in {} ms", rows, dataSet, format, (System.nanoTime() - start) / 1_000_000);
+    return rows;
+  }
+
+  private int insert(DataSet dataSet, List<Object[]> chunk, long imported) {
+    if (dataSet == DataSet.TOURNAMENTS) {
+      transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_TOURNAMENT, chunk));
+      return chunk.size();
+    }
+
+    transactionTemplate.executeWithoutResult(status -> {
+      Set<Long> tournamentIds = new HashSet<>();
+      chunk.forEach(row -> tournamentIds.add((Long) row[2]));
+      Set<Long> existing = new HashSet<>(jdbcTemplate.queryForList(
+          "select id from tournament where id in (" + String.join(",", Collections.nCopies(tournamentIds.size(), "?")) + ")",
+          Long.class, tournamentIds.toArray()));
+      for (int i = 0; i < chunk.size(); i++) {
+        if (!existing.contains((Long) chunk.get(i)[2])) {
+          throw rejected(imported + i + 1, imported, "The tournament does not exist");
+        }
+      }
+      jdbcTemplate.batchUpdate(INSERT_PLAYER, chunk);
+    });
+    return chunk.size();
+  }
+
+  private static IllegalArgumentException rejected(long record, long imported, String reason) {
+    return new IllegalArgumentException("Record " + record + ": " + reason
+        + " (" + imported + " rows were imported before it)");
+  }
+
+  private static Object[] tournament(Map<String, ?> record) {
+    Long maxPlayers = longValue(record, "maxPlayers");
+    if (maxPlayers == null || maxPlayers <= 1) {
+      throw new IllegalArgumentException("The minimum number of players is 2");
+    }
+    if (maxPlayers > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("maxPlayers is too large");
+    }
+    Long startDate = longValue(record, "startDate");
+    if (startDate == null) {
+      throw new IllegalArgumentException("The start date is required");
+    }
+    String status = stringValue(record, "status");
+    try {
+      status = status == null ? TournamentStatus.UPCOMING.name() : TournamentStatus.valueOf(status).name();
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Unknown status " + status);
+    }
+    return new Object[] {stringValue(record, "name"), stringValue(record, "gameTitle"), maxPlayers.intValue(),
+        startDate, status};
+  }
+
+  private static Object[] player(Map<String, ?> record) {
+    Long tournamentId = longValue(record, "tournamentId");
+    if (tournamentId == null) {
+      throw new IllegalArgumentException("The tournament is required");
+    }
+    Long registrationDate = longValue(record, "registrationDate");
+    return new Object[] {stringValue(record, "name"), stringValue(record, "nickName"), tournamentId,
+        registrationDate == null ? LocalDate.now().toEpochDay() : registrationDate};
+  }
+
+  private static String stringValue(Map<String, ?> record, String column) {
+    Object value = record.get(column);
+    return value == null || value.toString().isEmpty() ? null : value.toString();
+  }
+
+  private static Long longValue(Map<String, ?> record, String column) {
+    Object value = record.get(column);
+    if (value instanceof Integer || value instanceof Long) {
+      return ((Number) value).longValue();
+    }
+    String text = stringValue(record, column);
+    if (text == null) {
+      return null;
+    }
+    try {
+      return Long.parseLong(text.strip());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(column + " must be a whole number");
+    }
+  }
+
+  private RecordReader ndjson(InputStream in) throws IOException {
+    MappingIterator<Map<String, Object>> records = objectMapper.readerForMapOf(Object.class).readValues(in);
+    return () -> {
+      try {
+        return records.hasNextValue() ? records.nextValue() : null;
+      } catch (JsonProcessingException e) {
+        throw new IllegalArgumentException("Malformed JSON, " + e.getOriginalMessage());
+      }
+    };
+  }
+
+  private static RecordReader csv(InputStream in) throws IOException {
+    CsvReader reader = new CsvReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+    List<String> header = reader.next();
+    if (header == null) {
+      return () -> null;
+    }
+    return () -> {
+      List<String> fields = reader.next();
+      if (fields == null) {
+        return null;
+      }
+      Map<String, String> record = new HashMap<>();
+      for (int i = 0; i < header.size() && i < fields.size(); i++) {
+        record.put(header.get(i), fields.get(i));
+      }
+      return record;
+    };
+  }
+
+  private interface RecordReader {
+
+    /**
+     * The next record by column name, or {@code null} at the end of the input.
+     */
+    Map<String, ?> next() throws IOException;
+  }
+}
@@ -0,0 +1,63 @@
+package com.vgt.tournaments.transfer;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The tables that can be exported and imported, with the columns as they appear in the files.
+ * Names follow the JSON of the API, dates are epoch days like in the entities.
+ */
+public enum DataSet {
+  TOURNAMENTS(
+      "select id, name, game_title, max_players, start_date, status, version from tournament order by id",
+      List.of(
+          new Column("id", ColumnType.LONG),
+          new Column("name", ColumnType.STRING),
+          new Column("gameTitle", ColumnType.STRING),
+          new Column("maxPlayers", ColumnType.LONG),
+          new Column("startDate", ColumnType.LONG),
+          new Column("status", ColumnType.STRING),
+          new Column("version", ColumnType.LONG))),
+  PLAYERS(
+      "select id, name, nick_name, tournament_id, registration_date from player order by id",
+      List.of(
+          new Column("id", ColumnType.LONG),
+          new Column("name", ColumnType.STRING),
+          new Column("nickName", ColumnType.STRING),
+          new Column("tournamentId", ColumnType.LONG),
+          new Column("registrationDate", ColumnType.LONG)));
+
+  private final String exportSql;
+  private final List<Column> columns;
+
+  DataSet(String exportSql, List<Column> columns) {
+    this.exportSql = exportSql;
+    this.columns = columns;
+  }
+
+  String exportSql() {
+    return exportSql;
+  }
+
+  List<Column> columns() {
+    return columns;
+  }
+
+  public static DataSet of(String name) {
+    try {
+      return valueOf(name.toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("The data set must be tournaments or players");
+    }
+  }
+
+  enum ColumnType {
+    LONG, STRING
+  }
+
+  /**
+   * A column of the export, read by position from the export query.
+   */
+  record Column(String name, ColumnType type) {
+  }
+}
@@ -0,0 +1,160 @@
+package com.vgt.tournaments.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admission control in front of the API controllers. A request first takes a token from the
+ * bucket of its client and endpoint (reads and writes have separate rates), then one of the
+ * {@code maxConcurrent} global slots. Either failing answers 429 with a {@code Retry-After} right
+ * away, so overload is shed before requests pile up on the JDBC pool.
+ * <p>
+ * {@code maxConcurrent} is at most the size of the JDBC pool, so a request is turned away before it
+ * would wait for a connection. A slot is held until the response completes, including the
+ * asynchronous part of deferred registrations and streamed exports, which keep using connections
+ * after the request thread is released. Only server-sent event streams give their slot back once
+ * subscribed: they wait for events without touching the database. Decisions are counted in
+ * {@code tournaments.admission}, tagged by endpoint and outcome.
+ */
+public class AdmissionControlInterceptor implements AsyncHandlerInterceptor {
+
+  public static final String METER = "tournaments.admission";
+
+  private static final String ADMITTED = AdmissionControlInterceptor.class.getName() + ".ADMITTED";
+
+  private final GcraRateLimiter reads;
+  private final GcraRateLimiter writes;
+  private final int maxConcurrent;
+  private final String clientHeader;
+  private final MeterRegistry meterRegistry;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+  public AdmissionControlInterceptor(GcraRateLimiter reads, GcraRateLimiter writes, int maxConcurrent,
+      String clientHeader, MeterRegistry meterRegistry) {
+    this.reads = reads;
+    this.writes = writes;
+    this.maxConcurrent = maxConcurrent;
+    this.clientHeader = clientHeader == null || clientHeader.isBlank() ? null : clientHeader;
+    this.meterRegistry = meterRegistry;
+  }
+
+  public int inFlight() {
+    return inFlight.get();
+  }
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+      throws IOException {
+    // The dispatch that resumes an asynchronous request was already admitted
+    if (request.getDispatcherType() != DispatcherType.REQUEST) {
+      return true;
+    }
+
+    String endpoint = endpoint(request);
+    GcraRateLimiter limiter = isRead(request.getMethod()) ? reads : writes;
+    long waitNanos = limiter.tryAcquire(client(request) + ' ' + endpoint);
+    if (waitNanos > 0) {
+      return reject(response, endpoint, "rate_limited", waitNanos, "Too many requests, slow down");
+    }
+
+    if (inFlight.incrementAndGet() > maxConcurrent) {
+      inFlight.decrementAndGet();
+      return reject(response, endpoint, "overloaded", TimeUnit.SECONDS.toNanos(1), "The server is busy, retry later");
+    }
+    request.setAttribute(ADMITTED, new AtomicBoolean(true));
+    count(endpoint, "accepted");
+    return true;
+  }
+
+  @Override
+  public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+    if (handler instanceof HandlerMethod method
+        && ResponseBodyEmitter.class.isAssignableFrom(method.getReturnType().getParameterType())) {
+      release(request);
+      return;
+    }
+    // Also released by afterCompletion of the dispatch that resumes the request, this covers an
+    // asynchronous request that ends without one
+    request.getAsyncContext().addListener(new AsyncListener() {
+      @Override
+      public void onComplete(AsyncEvent event) {
+        release(request);
+      }
+
+      @Override
+      public void onTimeout(AsyncEvent event) {
+      }
+
+      @Override
+      public void onError(AsyncEvent event) {
+        release(request);
+      }
+
+      @Override
+      public void onStartAsync(AsyncEvent event) {
+      }
+    });
+  }
+
+  @Override
+  public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+    release(request);
+  }
+
+  private void release(HttpServletRequest request) {
+    // The listener and the resumed dispatch may release on different threads, only one of them counts
+    if (request.getAttribute(ADMITTED) instanceof AtomicBoolean admitted && admitted.compareAndSet(true, false)) {
+      inFlight.decrementAndGet();
+    }
+  }
+
+  private boolean reject(HttpServletResponse response, String endpoint, String outcome, long waitNanos, String message)
+      throws IOException {
+    count(endpoint, outcome);
+    long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+    response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), message);
+    return false;
+  }
+
+  private void count(String endpoint, String outcome) {
+    counters.computeIfAbsent(endpoint + ' ' + outcome, key -> Counter.builder(METER)
+            .tag("endpoint", endpoint)
+            .tag("outcome", outcome)
+            .register(meterRegistry))
+        .increment();
+  }
+
+  private String client(HttpServletRequest request) {
+    String client = clientHeader == null ? null : request.getHeader(clientHeader);
+    return client == null ? request.getRemoteAddr() : client;
+  }
+
+  private static String endpoint(HttpServletRequest request) {
+    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    return request.getMethod() + ' ' + (pattern == null ? "unmapped" : pattern);
+  }
+
+  private static boolean isRead(String method) {
+    return "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method);
+  }
+}
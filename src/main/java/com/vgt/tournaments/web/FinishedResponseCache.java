@@ -0,0 +1,233 @@
+package com.vgt.tournaments.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vgt.tournaments.events.DataImportedEvent;
+import com.vgt.tournaments.events.PlayerChangedEvent;
+import com.vgt.tournaments.events.PlayersRecountedEvent;
+import com.vgt.tournaments.events.PlayersRemovedEvent;
+import com.vgt.tournaments.events.TournamentChangedEvent;
+import com.vgt.tournaments.web.ResponseFormats.Format;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.NativeWebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encoded responses of finished tournaments. A finished tournament and its roster no longer change,
+ * so they are serialized once per negotiated format, and gzipped as well once they reach
+ * {@code tournaments.response-cache.gzip-min-size}. Later requests are answered with those bytes,
+ * without loading an entity or running Jackson.
+ * <p>
+ * Entries are weighed by their bytes and bounded by {@code tournaments.response-cache.maximum-size}
+ * in total, so only byte arrays and their keys are kept, never entities. Any committed change to a
+ * tournament or its players still evicts it. A load that raced with such a change is not stored:
+ * every change moves a generation counter shared by a stripe of tournaments, and a load only keeps
+ * its entry when the generation of its stripe did not move meanwhile.
+ */
+@Component
+public class FinishedResponseCache {
+
+  public enum Resource {
+    TOURNAMENT, ROSTER
+  }
+
+  /**
+   * What a loader read: the body, the version its ETags are made of or {@code null} when the
+   * resource has none, and whether the tournament is finished, which decides if the encoded body
+   * is kept.
+   */
+  public record Snapshot(Object body, String version, boolean finished) {
+  }
+
+  private record Key(Resource resource, long tournamentId, Format format) {
+  }
+
+  private record Encoded(String etag, String gzipEtag, byte[] identity, byte[] gzip) {
+  }
+
+  private static final int STRIPES = 1024;
+  // Heap taken by the cache node, key, entry and array headers of each response, on top of the
+  // encoded bytes themselves
+  private static final int ENTRY_OVERHEAD = 192;
+
+  private final Map<Format, ObjectMapper> mappers = new EnumMap<>(Format.class);
+  private final ResponseFormats responseFormats;
+  private final long gzipMinSize;
+  private final Cache<Key, Encoded> entries;
+  private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+
+  public FinishedResponseCache(MappingJackson2HttpMessageConverter json,
+      MappingJackson2CborHttpMessageConverter cbor, MappingJackson2SmileHttpMessageConverter smile,
+      ResponseFormats responseFormats, MeterRegistry meterRegistry,
+      @Value("${tournaments.response-cache.maximum-size:256MB}") DataSize maximumSize,
+      @Value("${tournaments.response-cache.gzip-min-size:1KB}") DataSize gzipMinSize) {
+    // The mappers of the message converters, so cached bytes match what the converters would write
+    mappers.put(Format.JSON, json.getObjectMapper());
+    mappers.put(Format.CBOR, cbor.getObjectMapper());
+    mappers.put(Format.SMILE, smile.getObjectMapper());
+    this.responseFormats = responseFormats;
+    this.gzipMinSize = gzipMinSize.toBytes();
+    this.entries = Caffeine.newBuilder()
+        .maximumWeight(maximumSize.toBytes())
+        .<Key, Encoded>weigher((key, encoded) -> ENTRY_OVERHEAD + encoded.identity().length
+            + (encoded.gzip() == null ? 0 : encoded.gzip().length))
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, entries, "finished-responses");
+  }
+
+  /**
+   * Answers with the cached bytes of {@code resource} when the tournament is finished and they were
+   * already encoded in the negotiated format. Otherwise {@code loader} runs, and its body is encoded
+   * and kept when the tournament turns out to be finished, or returned as is for the message
+   * converters when it is not.
+   */
+  public ResponseEntity<?> serve(Resource resource, Long tournamentId, NativeWebRequest request,
+      Supplier<Snapshot> loader) {
+    Format format = responseFormats.negotiate(request);
+    Key key = format == null ? null : new Key(resource, tournamentId, format);
+    if (key != null) {
+      Encoded encoded = entries.getIfPresent(key);
+      if (encoded != null) {
+        return respond(encoded, format, request);
+      }
+    }
+
+    int stripe = stripe(tournamentId);
+    long generation = generations.get(stripe);
+    Snapshot snapshot = loader.get();
+    if (key == null || !snapshot.finished()) {
+      if (snapshot.version() != null && responseFormats.checkNotModified(snapshot.version(), request)) {
+        return null;
+      }
+      return ResponseEntity.ok(snapshot.body());
+    }
+
+    Encoded encoded = encode(snapshot, format);
+    entries.put(key, encoded);
+    // A change that committed while loading has evicted before this put, so drop it again
+    if (generations.get(stripe) != generation) {
+      entries.asMap().remove(key, encoded);
+    }
+    return respond(encoded, format, request);
+  }
+
+  public void evict(Collection<Long> tournamentIds) {
+    for (Long tournamentId : tournamentIds) {
+      // Moved before evicting, see serve
+      generations.incrementAndGet(stripe(tournamentId));
+      for (Resource resource : Resource.values()) {
+        for (Format format : Format.values()) {
+          entries.invalidate(new Key(resource, tournamentId, format));
+        }
+      }
+    }
+  }
+
+  public long weight() {
+    return entries.policy().eviction().orElseThrow().weightedSize().orElse(0);
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onTournamentChanged(TournamentChangedEvent event) {
+    evict(List.of(event.tournamentId()));
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onPlayerChanged(PlayerChangedEvent event) {
+    evict(List.of(event.tournamentId()));
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onPlayersRemoved(PlayersRemovedEvent event) {
+    evict(event.tournamentIds());
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onPlayersRecounted(PlayersRecountedEvent event) {
+    evict(event.tournamentIds());
+  }
+
+  @EventListener
+  public void onImported(DataImportedEvent event) {
+    for (int stripe = 0; stripe < STRIPES; stripe++) {
+      generations.incrementAndGet(stripe);
+    }
+    entries.invalidateAll();
+  }
+
+  private Encoded encode(Snapshot snapshot, Format format) {
+    try {
+      byte[] identity = mappers.get(format).writeValueAsBytes(snapshot.body());
+      byte[] gzip = identity.length >= gzipMinSize ? gzip(identity) : null;
+      String version = snapshot.version();
+      return new Encoded(version == null ? null : ResponseFormats.etag(version, format),
+          version == null || gzip == null ? null : ResponseFormats.gzipEtag(version, format), identity, gzip);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static ResponseEntity<byte[]> respond(Encoded encoded, Format format, NativeWebRequest request) {
+    // On the native response, so that a 304 varies as well
+    ResponseFormats.varyBy(request, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+    boolean gzip = encoded.gzip() != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+    String etag = gzip ? encoded.gzipEtag() : encoded.etag();
+    if (etag != null && request.checkNotModified(etag)) {
+      return null;
+    }
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(format.mediaType());
+    if (gzip) {
+      return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(encoded.gzip());
+    }
+    return response.body(encoded.identity());
+  }
+
+  static boolean acceptsGzip(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    for (String coding : acceptEncoding.split(",")) {
+      String[] parts = coding.split(";");
+      String name = parts[0].strip();
+      if (name.equalsIgnoreCase("gzip") || name.equals("*")) {
+        return parts.length == 1 || !parts[1].strip().matches("q=0(\\.0*)?");
+      }
+    }
+    return false;
+  }
+
+  private static byte[] gzip(byte[] bytes) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+    try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+      gzip.write(bytes);
+    }
+    return out.toByteArray();
+  }
+
+  private static int stripe(long tournamentId) {
+    return Long.hashCode(tournamentId) & (STRIPES - 1);
+  }
+}
@@ -0,0 +1,58 @@
+package com.vgt.tournaments.web;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket per key implemented as the generic cell rate algorithm: the whole state of a bucket
+ * is its theoretical arrival time in one {@link AtomicLong}, so admitting a request is a read and
+ * a compare-and-set, with no lock and no refill thread.
+ * <p>
+ * Each admitted request pushes the arrival time one emission interval ({@code 1 / rate}) into the
+ * future; a request is rejected while that would run more than {@code burst} intervals ahead of
+ * now. Buckets live in a bounded Caffeine cache and an evicted bucket simply starts over full.
+ */
+public class GcraRateLimiter {
+
+  private final long intervalNanos;
+  private final long burstNanos;
+  private final LongSupplier nanoClock;
+  private final Cache<String, AtomicLong> buckets;
+
+  public GcraRateLimiter(double ratePerSecond, int burst, long maximumBuckets, LongSupplier nanoClock) {
+    if (ratePerSecond <= 0 || burst < 1) {
+      throw new IllegalArgumentException("The rate and the burst must be positive");
+    }
+    this.intervalNanos = (long) (1_000_000_000 / ratePerSecond);
+    this.burstNanos = intervalNanos * burst;
+    this.nanoClock = nanoClock;
+    this.buckets = Caffeine.newBuilder()
+        .maximumSize(maximumBuckets)
+        .expireAfterAccess(Duration.ofNanos(Math.max(burstNanos, Duration.ofMinutes(1).toNanos())))
+        .build();
+  }
+
+  /**
+   * Takes a token from the bucket of {@code key}. Returns 0 when the request is admitted, otherwise
+   * how many nanoseconds to wait before the next token is available.
+   */
+  public long tryAcquire(String key) {
+    long now = nanoClock.getAsLong();
+    AtomicLong arrival = buckets.get(key, k -> new AtomicLong(now));
+    while (true) {
+      long current = arrival.get();
+      long next = (current - now < 0 ? now : current) + intervalNanos;
+      long ahead = next - now;
+      if (ahead > burstNanos) {
+        return ahead - burstNanos;
+      }
+      if (arrival.compareAndSet(current, next)) {
+        return 0;
+      }
+    }
+  }
+}
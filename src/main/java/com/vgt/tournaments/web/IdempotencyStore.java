@@ -0,0 +1,104 @@
+package com.vgt.tournaments.web;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the result of create requests sent with an {@code Idempotency-Key} header so a
+ * client retrying after a timeout gets the original result back instead of creating a duplicate.
+ * <p>
+ * The first request with a key claims it and runs; a duplicate arriving while it is still running
+ * waits on the same future rather than running again. Only successes are remembered: when the
+ * first execution fails the key is released, so a retry runs for real. Reusing a key for a
+ * different request body fails with {@link IllegalStateException}. Keys are scoped by endpoint and
+ * kept in a bounded Caffeine cache for {@code tournaments.idempotency.expire-after}.
+ */
+@Component
+public class IdempotencyStore {
+
+  public static final String HEADER = "Idempotency-Key";
+  public static final int MAX_KEY_LENGTH = 255;
+
+  private record Entry(Object request, CompletableFuture<Object> response) {
+  }
+
+  private final Cache<String, Entry> entries;
+
+  public IdempotencyStore(
+      @Value("${tournaments.idempotency.maximum-size:100000}") long maximumSize,
+      @Value("${tournaments.idempotency.expire-after:PT1H}") Duration expireAfter) {
+    this.entries = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(expireAfter)
+        .build();
+  }
+
+  /**
+   * Runs {@code action} unless {@code key} already ran for {@code scope}, in which case its result
+   * is returned, waiting for it if needed. Without a key the action simply runs.
+   */
+  public <T> T execute(String scope, String key, Object request, Supplier<T> action) {
+    if (key == null) {
+      return action.get();
+    }
+    try {
+      return executeAsync(scope, key, request, () -> CompletableFuture.completedFuture(action.get())).join();
+    } catch (CompletionException e) {
+      throw e.getCause() instanceof RuntimeException cause ? cause : e;
+    }
+  }
+
+  /**
+   * Same as {@link #execute} for actions that complete later. The key is held until the returned
+   * future completes.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> CompletableFuture<T> executeAsync(String scope, String key, Object request,
+      Supplier<CompletableFuture<T>> action) {
+    if (key == null) {
+      return action.get();
+    }
+    validateKey(key);
+
+    String cacheKey = scope + ' ' + key;
+    Entry claimed = new Entry(request, new CompletableFuture<>());
+    Entry existing = entries.asMap().putIfAbsent(cacheKey, claimed);
+    if (existing != null) {
+      if (!Objects.equals(existing.request(), request)) {
+        throw new IllegalStateException("The idempotency key was already used for a different request");
+      }
+      return (CompletableFuture<T>) existing.response().copy();
+    }
+
+    CompletableFuture<T> started;
+    try {
+      started = action.get();
+    } catch (RuntimeException e) {
+      started = CompletableFuture.failedFuture(e);
+    }
+    started.whenComplete((response, error) -> {
+      if (error != null) {
+        // Released before the waiters wake up so that their retries run again
+        entries.asMap().remove(cacheKey, claimed);
+        claimed.response().completeExceptionally(error);
+      } else {
+        claimed.response().complete(response);
+      }
+    });
+    return (CompletableFuture<T>) claimed.response().copy();
+  }
+
+  private static void validateKey(String key) {
+    if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+      throw new IllegalArgumentException("The idempotency key must have between 1 and " + MAX_KEY_LENGTH + " characters");
+    }
+  }
+}
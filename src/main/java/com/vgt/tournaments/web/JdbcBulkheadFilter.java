@@ -0,0 +1,57 @@
+package com.vgt.tournaments.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lets at most as many requests into the JPA layer as there are pooled JDBC connections.
+ * <p>
+ * With virtual threads nothing caps the number of concurrent requests any more. Thousands of them
+ * would otherwise queue inside the connection pool and the JDBC driver, where monitor waits pin
+ * their carrier threads and can starve the very threads holding the connections. Waiting here on a
+ * {@link Semaphore} unmounts the virtual thread instead, and a request that can not get a permit in
+ * time is rejected with 503 rather than piling up.
+ */
+public class JdbcBulkheadFilter extends OncePerRequestFilter {
+
+  private final Semaphore permits;
+  private final long timeoutNanos;
+
+  public JdbcBulkheadFilter(int permits, Duration timeout) {
+    this.permits = new Semaphore(permits, true);
+    this.timeoutNanos = timeout.toNanos();
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+
+    boolean acquired;
+    try {
+      acquired = permits.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      acquired = false;
+    }
+
+    if (!acquired) {
+      response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "The server is busy, retry later");
+      return;
+    }
+
+    try {
+      chain.doFilter(request, response);
+    } finally {
+      permits.release();
+    }
+  }
+}
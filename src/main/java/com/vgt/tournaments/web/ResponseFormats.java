@@ -0,0 +1,104 @@
+package com.vgt.tournaments.web;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.NativeWebRequest;
+
+import java.util.List;
+
+/**
+ * The formats the API encodes its responses in, and the validators of their representations.
+ * The same version of a resource encodes to different bytes as JSON, CBOR or Smile, so a strong
+ * ETag names the format as well: JSON, the default, is tagged with the bare version and the other
+ * formats get a suffix. Responses tagged this way vary by {@code Accept}.
+ */
+@Component
+public class ResponseFormats {
+
+  public enum Format {
+    JSON(MediaType.APPLICATION_JSON, ""),
+    CBOR(MediaType.APPLICATION_CBOR, "-cbor"),
+    SMILE(MediaType.valueOf("application/x-jackson-smile"), "-smile");
+
+    private final MediaType mediaType;
+    private final String tagSuffix;
+
+    Format(MediaType mediaType, String tagSuffix) {
+      this.mediaType = mediaType;
+      this.tagSuffix = tagSuffix;
+    }
+
+    public MediaType mediaType() {
+      return mediaType;
+    }
+  }
+
+  private final ContentNegotiationManager contentNegotiationManager;
+
+  public ResponseFormats(ContentNegotiationManager contentNegotiationManager) {
+    this.contentNegotiationManager = contentNegotiationManager;
+  }
+
+  /**
+   * The first of our formats the request accepts, in the order the message converters would pick
+   * it, or {@code null} when the request accepts none of them.
+   */
+  public Format negotiate(NativeWebRequest request) {
+    List<MediaType> acceptable;
+    try {
+      acceptable = contentNegotiationManager.resolveMediaTypes(request);
+    } catch (HttpMediaTypeNotAcceptableException e) {
+      return null;
+    }
+    for (MediaType mediaType : acceptable) {
+      if (mediaType.getQualityValue() == 0) {
+        continue;
+      }
+      for (Format format : Format.values()) {
+        if (mediaType.isCompatibleWith(format.mediaType)) {
+          return format;
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Answers a conditional GET for {@code version} of a resource in the negotiated format, see
+   * {@link org.springframework.web.context.request.WebRequest#checkNotModified(String)}.
+   */
+  public boolean checkNotModified(String version, NativeWebRequest request) {
+    varyBy(request, HttpHeaders.ACCEPT);
+    return request.checkNotModified(etag(version, negotiate(request)));
+  }
+
+  public static String etag(String version, Format format) {
+    return "\"" + version + (format == null ? "" : format.tagSuffix) + "\"";
+  }
+
+  /**
+   * Strong ETag of the gzipped bytes of {@code version}, which are yet another representation.
+   */
+  static String gzipEtag(String version, Format format) {
+    return "\"" + version + (format == null ? "" : format.tagSuffix) + "-gz\"";
+  }
+
+  /**
+   * Adds {@code headers} to the {@code Vary} of the response, also when it ends up a 304.
+   */
+  static void varyBy(NativeWebRequest request, String... headers) {
+    HttpServletResponse response = request.getNativeResponse(HttpServletResponse.class);
+    if (response == null) {
+      return;
+    }
+    for (String header : headers) {
+      if (!response.getHeaders(HttpHeaders.VARY).contains(header)) {
+        response.addHeader(HttpHeaders.VARY, header);
+      }
+    }
+  }
+}
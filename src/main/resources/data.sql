@@ -1,2 +1,2 @@
-INSERT INTO tournament (name, game_title, max_players, start_date, status) VALUES ('juan', 'first tournament', 1, 20234, 'UPCOMING');
-INSERT INTO player (name, nick_name, tournament_id, registration_date) VALUES ('juan', 'juan2003', 1, 20235);
+INSERT INTO tournament (name, game_title, max_players, start_date, status, version, registered_players) VALUES ('juan', 'first tournament', 1, 20234, 'UPCOMING', 0, 1);
+INSERT INTO player (id, name, nick_name, tournament_id, registration_date) VALUES (NEXT VALUE FOR player_seq, 'juan', 'juan2003', 1, 20235);
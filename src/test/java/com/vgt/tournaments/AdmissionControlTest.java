@@ -0,0 +1,128 @@
+package com.vgt.tournaments;
+
+import com.vgt.tournaments.web.AdmissionControlInterceptor;
+import com.vgt.tournaments.web.GcraRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdmissionControlTest {
+
+  private final AtomicLong clock = new AtomicLong();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @Test
+  void testBucketAllowsTheBurstThenRefillsAtTheRate() {
+    GcraRateLimiter limiter = new GcraRateLimiter(10, 3, 100, clock::get);
+
+    assertEquals(0, limiter.tryAcquire("organizer"));
+    assertEquals(0, limiter.tryAcquire("organizer"));
+    assertEquals(0, limiter.tryAcquire("organizer"));
+    assertEquals(TimeUnit.MILLISECONDS.toNanos(100), limiter.tryAcquire("organizer"));
+    assertEquals(0, limiter.tryAcquire("someone else"));
+
+    clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+    assertEquals(0, limiter.tryAcquire("organizer"));
+    assertTrue(limiter.tryAcquire("organizer") > 0);
+  }
+
+  @Test
+  void testRateLimitedWritesAnswer429WithRetryAfter() throws Exception {
+    AdmissionControlInterceptor interceptor = interceptor(100);
+
+    assertTrue(interceptor.preHandle(request("PUT"), new MockHttpServletResponse(), null));
+    MockHttpServletResponse rejected = new MockHttpServletResponse();
+    assertFalse(interceptor.preHandle(request("PUT"), rejected, null));
+
+    assertEquals(429, rejected.getStatus());
+    assertEquals("1", rejected.getHeader("Retry-After"));
+    // Reads have their own bucket
+    assertTrue(interceptor.preHandle(request("GET"), new MockHttpServletResponse(), null));
+    assertEquals(1.0, meterRegistry.get(AdmissionControlInterceptor.METER)
+        .tag("endpoint", "PUT /api/tournaments/{id}").tag("outcome", "rate_limited").counter().count());
+  }
+
+  @Test
+  void testConcurrencyLimitShedsLoadUntilASlotIsReleased() throws Exception {
+    AdmissionControlInterceptor interceptor = interceptor(1);
+    MockHttpServletRequest first = request("GET");
+
+    assertTrue(interceptor.preHandle(first, new MockHttpServletResponse(), null));
+    MockHttpServletResponse rejected = new MockHttpServletResponse();
+    assertFalse(interceptor.preHandle(request("GET"), rejected, null));
+    assertEquals(429, rejected.getStatus());
+
+    interceptor.afterCompletion(first, new MockHttpServletResponse(), null, null);
+    assertEquals(0, interceptor.inFlight());
+    assertTrue(interceptor.preHandle(request("GET"), new MockHttpServletResponse(), null));
+  }
+
+  @Test
+  void testAsynchronousRequestHoldsItsSlotUntilItCompletes() throws Exception {
+    AdmissionControlInterceptor interceptor = interceptor(2);
+    MockHttpServletRequest deferred = request("GET");
+    MockHttpServletRequest events = request("GET");
+
+    assertTrue(interceptor.preHandle(deferred, new MockHttpServletResponse(), null));
+    assertTrue(interceptor.preHandle(events, new MockHttpServletResponse(), null));
+    startAsync(deferred);
+    startAsync(events);
+    interceptor.afterConcurrentHandlingStarted(deferred, new MockHttpServletResponse(), handler("deferred"));
+    interceptor.afterConcurrentHandlingStarted(events, new MockHttpServletResponse(), handler("events"));
+
+    // Only the event stream, which waits without a connection, gave its slot back
+    assertEquals(1, interceptor.inFlight());
+
+    ((MockAsyncContext) deferred.getAsyncContext()).complete();
+    assertEquals(0, interceptor.inFlight());
+    // The dispatch that resumes it does not release the slot a second time
+    interceptor.afterCompletion(deferred, new MockHttpServletResponse(), null, null);
+    assertEquals(0, interceptor.inFlight());
+  }
+
+  private static void startAsync(MockHttpServletRequest request) {
+    request.setAsyncSupported(true);
+    request.startAsync();
+  }
+
+  private static HandlerMethod handler(String name) throws NoSuchMethodException {
+    return new HandlerMethod(new Handlers(), Handlers.class.getDeclaredMethod(name));
+  }
+
+  static class Handlers {
+
+    CompletableFuture<String> deferred() {
+      return new CompletableFuture<>();
+    }
+
+    SseEmitter events() {
+      return new SseEmitter();
+    }
+  }
+
+  private AdmissionControlInterceptor interceptor(int maxConcurrent) {
+    return new AdmissionControlInterceptor(
+        new GcraRateLimiter(100, 100, 100, clock::get),
+        new GcraRateLimiter(1, 1, 100, clock::get),
+        maxConcurrent, null, meterRegistry);
+  }
+
+  private static MockHttpServletRequest request(String method) {
+    MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/tournaments/1");
+    request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/tournaments/{id}");
+    return request;
+  }
+}
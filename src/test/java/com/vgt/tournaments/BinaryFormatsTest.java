@@ -0,0 +1,118 @@
+package com.vgt.tournaments;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.vgt.tournaments.domain.Tournament;
+import com.vgt.tournaments.domain.enums.TournamentStatus;
+import com.vgt.tournaments.repositories.TournamentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:binary-formats")
+@AutoConfigureMockMvc
+class BinaryFormatsTest {
+
+  private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+  @Autowired
+  MockMvc mockMvc;
+
+  @Autowired
+  ObjectMapper objectMapper;
+
+  @Autowired
+  TournamentRepository tournamentRepository;
+
+  @Test
+  void testResponsesAreEncodedAsRequestedAndJsonByDefault() throws Exception {
+    JsonNode json = objectMapper.readTree(mockMvc.perform(get("/api/tournaments/1"))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+        .andReturn().getResponse().getContentAsByteArray());
+
+    byte[] cbor = mockMvc.perform(get("/api/tournaments/1").accept(MediaType.APPLICATION_CBOR))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+        .andReturn().getResponse().getContentAsByteArray();
+    assertEquals(json, new CBORMapper().readTree(cbor));
+
+    byte[] smile = mockMvc.perform(get("/api/tournaments/1/players").accept(SMILE))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(SMILE))
+        .andReturn().getResponse().getContentAsByteArray();
+    JsonNode roster = new SmileMapper().readTree(smile);
+    assertEquals(1, roster.size());
+    assertEquals("juan2003", roster.get(0).get("nickName").asText());
+  }
+
+  @Test
+  void testRequestBodiesAreReadInTheBinaryFormats() throws Exception {
+    Tournament tournament = tournamentRepository.save(Tournament.builder()
+        .name("binary")
+        .gameTitle("binary game")
+        .maxPlayers(4)
+        .startDate(LocalDate.now().toEpochDay())
+        .status(TournamentStatus.STARTED)
+        .build());
+    byte[] body = new CBORMapper().writeValueAsBytes(Map.of("name", "Danna", "tournamentId", tournament.getId()));
+
+    MvcResult result = mockMvc.perform(post("/api/players")
+            .contentType(MediaType.APPLICATION_CBOR).accept(MediaType.APPLICATION_CBOR).content(body))
+        .andReturn();
+    byte[] created = mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isCreated())
+        .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+        .andReturn().getResponse().getContentAsByteArray();
+
+    assertEquals("Danna", new CBORMapper().readTree(created).get("name").asText());
+  }
+
+  @Test
+  void testTagsOfOneFormatDoNotMatchAnother() throws Exception {
+    Tournament tournament = tournamentRepository.save(Tournament.builder()
+        .name("tagged")
+        .gameTitle("tagged game")
+        .maxPlayers(4)
+        .startDate(LocalDate.now().plusDays(3).toEpochDay())
+        .status(TournamentStatus.UPCOMING)
+        .build());
+
+    for (String url : new String[] {"/api/tournaments", "/api/tournaments/" + tournament.getId()}) {
+      String json = mockMvc.perform(get(url))
+          .andExpect(status().isOk())
+          .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+          .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+      String cbor = mockMvc.perform(get(url).accept(MediaType.APPLICATION_CBOR).header(HttpHeaders.IF_NONE_MATCH, json))
+          .andExpect(status().isOk())
+          .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+          .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+      assertNotEquals(json, cbor);
+
+      mockMvc.perform(get(url).accept(MediaType.APPLICATION_CBOR).header(HttpHeaders.IF_NONE_MATCH, cbor))
+          .andExpect(status().isNotModified())
+          .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+    }
+  }
+}
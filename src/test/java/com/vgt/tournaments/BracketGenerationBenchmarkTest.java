@@ -0,0 +1,42 @@
+package com.vgt.tournaments;
+
+import com.vgt.tournaments.brackets.BracketFormat;
+import com.vgt.tournaments.brackets.BracketGenerator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Generation time against player count for every format. Run with {@code mvn test -Pperf}.
+ */
+@Tag("perf")
+class BracketGenerationBenchmarkTest {
+
+  private static final int[] PLAYER_COUNTS = {1_000, 10_000, 100_000, 1_000_000};
+  private static final int WARMUP = 200;
+  private static final int ITERATIONS = 50;
+
+  @Test
+  void generationTimeByPlayerCount() {
+
+    for (BracketFormat format : BracketFormat.values()) {
+      for (int players : PLAYER_COUNTS) {
+        long[] seeds = new long[players];
+        for (int i = 0; i < players; i++) {
+          seeds[i] = i + 1;
+        }
+
+        for (int i = 0; i < WARMUP; i++) {
+          BracketGenerator.generate(format, seeds);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+          BracketGenerator.generate(format, seeds);
+        }
+        long perBracket = (System.nanoTime() - start) / ITERATIONS;
+
+        System.out.printf("%-18s %,10d players: %,8.3f ms%n", format, players, perBracket / 1e6);
+      }
+    }
+  }
+}
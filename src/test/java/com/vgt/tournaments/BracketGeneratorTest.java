@@ -0,0 +1,76 @@
+package com.vgt.tournaments;
+
+import com.vgt.tournaments.brackets.Bracket;
+import com.vgt.tournaments.brackets.BracketFormat;
+import com.vgt.tournaments.brackets.BracketGenerator;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BracketGeneratorTest {
+
+  private static final long[] SIX_PLAYERS = {11, 12, 13, 14, 15, 16};
+
+  @Test
+  void testSingleEliminationSeedsAndByes() {
+
+    Bracket bracket = BracketGenerator.generate(BracketFormat.SINGLE_ELIMINATION, SIX_PLAYERS);
+
+    assertEquals(8, bracket.bracketSize());
+    // 1v8, 4v5, 2v7, 3v6 with seeds 7 and 8 missing
+    assertArrayEquals(new long[]{11, Bracket.BYE, 14, 15, 12, Bracket.BYE, 13, 16}, bracket.firstRound());
+    assertArrayEquals(new int[]{4, 2, 1}, bracket.rounds());
+    assertEquals(0, bracket.losersRounds().length);
+  }
+
+  @Test
+  void testDoubleEliminationRounds() {
+
+    Bracket bracket = BracketGenerator.generate(BracketFormat.DOUBLE_ELIMINATION, SIX_PLAYERS);
+
+    assertArrayEquals(new int[]{4, 2, 1, 1}, bracket.rounds());
+    assertArrayEquals(new int[]{2, 2, 1, 1}, bracket.losersRounds());
+  }
+
+  @Test
+  void testSwissPairsTopHalfAgainstBottomHalf() {
+
+    Bracket bracket = BracketGenerator.generate(BracketFormat.SWISS, new long[]{1, 2, 3, 4, 5});
+
+    assertArrayEquals(new long[]{1, 4, 2, 5, 3, Bracket.BYE}, bracket.firstRound());
+    assertArrayEquals(new int[]{3, 3, 3}, bracket.rounds());
+  }
+
+  @Test
+  void testTopSeedsOnlyMeetInTheFinal() {
+
+    long[] seeds = new long[1000];
+    for (int i = 0; i < seeds.length; i++) {
+      seeds[i] = i + 1;
+    }
+
+    long[] firstRound = BracketGenerator.generate(BracketFormat.SINGLE_ELIMINATION, seeds).firstRound();
+
+    int half = firstRound.length / 2;
+    assertEquals(1, firstRound[0]);
+    assertTrue(indexOf(firstRound, 2) >= half);
+  }
+
+  @Test
+  void testGenerateFailButPlayers() {
+
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> BracketGenerator.generate(BracketFormat.SWISS, new long[]{1}));
+
+    assertEquals("The minimum number of players is 2", exception.getMessage());
+  }
+
+  private static int indexOf(long[] values, long value) {
+    for (int i = 0; i < values.length; i++) {
+      if (values[i] == value) {
+        return i;
+      }
+    }
+    return -1;
+  }
+}
@@ -0,0 +1,180 @@
+package com.vgt.tournaments;
+
+import com.vgt.tournaments.transfer.DataExporter;
+import com.vgt.tournaments.transfer.DataFormat;
+import com.vgt.tournaments.transfer.DataImporter;
+import com.vgt.tournaments.transfer.DataSet;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Imports 1M players from a generated NDJSON stream and exports them back as NDJSON and CSV,
+ * sampling the heap after a GC every 100k rows. The database lives in a file with a bounded page
+ * cache, so the rows themselves do not grow the heap and any growth would come from the transfer.
+ * Run with {@code mvn test -Pperf}.
+ */
+@Tag("perf")
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:file:./target/transfer-perf/tournaments;CACHE_SIZE=16384",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "tournaments.admission.enabled=false"
+})
+class DataTransferPerfTest {
+
+  private static final int PLAYERS = 1_000_000;
+  private static final int SAMPLE_EVERY = 100_000;
+  // 1M player entities alone would take well over 100MB
+  private static final long MAX_HEAP_GROWTH = 48L << 20;
+
+  @Autowired
+  DataImporter dataImporter;
+
+  @Autowired
+  DataExporter dataExporter;
+
+  @Autowired
+  JdbcTemplate jdbcTemplate;
+
+  @Test
+  void millionRowsRoundTripInConstantHeap() throws IOException {
+    jdbcTemplate.update("INSERT INTO tournament (name, game_title, max_players, start_date, status, version)"
+        + " VALUES ('transfer', 'transfer game', 2000000, 20300, 'STARTED', 0)");
+    long tournamentId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM tournament", Long.class);
+
+    HeapSampler importHeap = new HeapSampler();
+    long start = System.nanoTime();
+    long imported = dataImporter.importRows(DataSet.PLAYERS, DataFormat.NDJSON,
+        new GeneratedPlayers(tournamentId, importHeap));
+    report("import", imported, start, importHeap);
+    assertEquals(PLAYERS, imported);
+
+    for (DataFormat format : DataFormat.values()) {
+      HeapSampler exportHeap = new HeapSampler();
+      LineCounter out = new LineCounter(exportHeap);
+      start = System.nanoTime();
+      long exported = dataExporter.export(DataSet.PLAYERS, format, out);
+      report("export " + format, exported, start, exportHeap);
+      System.out.printf("  %d MB written%n", out.bytes >> 20);
+      assertEquals(PLAYERS, exported);
+      assertTrue(exportHeap.growth() < MAX_HEAP_GROWTH, "export heap grew by " + (exportHeap.growth() >> 20) + " MB");
+    }
+    assertTrue(importHeap.growth() < MAX_HEAP_GROWTH, "import heap grew by " + (importHeap.growth() >> 20) + " MB");
+  }
+
+  private static void report(String name, long rows, long start, HeapSampler heap) {
+    long millis = (System.nanoTime() - start) / 1_000_000;
+    System.out.printf("%s: %d rows in %d ms (%d rows/s), heap after GC %d MB at start, %d MB at most%n",
+        name, rows, millis, rows * 1000 / Math.max(1, millis), heap.baseline >> 20, heap.max >> 20);
+  }
+
+  private static long usedHeap() {
+    System.gc();
+    Runtime runtime = Runtime.getRuntime();
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+  private static final class HeapSampler {
+
+    private final long baseline = usedHeap();
+    private long max = baseline;
+
+    void sample() {
+      max = Math.max(max, usedHeap());
+    }
+
+    long growth() {
+      return max - baseline;
+    }
+  }
+
+  /**
+   * NDJSON players produced on demand, one line at a time.
+   */
+  private static final class GeneratedPlayers extends InputStream {
+
+    private final long tournamentId;
+    private final HeapSampler heap;
+    private byte[] line = new byte[0];
+    private int position;
+    private int produced;
+
+    private GeneratedPlayers(long tournamentId, HeapSampler heap) {
+      this.tournamentId = tournamentId;
+      this.heap = heap;
+    }
+
+    @Override
+    public int read() {
+      if (position == line.length && !nextLine()) {
+        return -1;
+      }
+      return line[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) {
+      if (position == line.length && !nextLine()) {
+        return -1;
+      }
+      int count = Math.min(length, line.length - position);
+      System.arraycopy(line, position, buffer, offset, count);
+      position += count;
+      return count;
+    }
+
+    private boolean nextLine() {
+      if (produced == PLAYERS) {
+        return false;
+      }
+      produced++;
+      if (produced % SAMPLE_EVERY == 0) {
+        heap.sample();
+      }
+      line = ("{\"name\":\"player " + produced + "\",\"nickName\":\"p" + produced + "\",\"tournamentId\":"
+          + tournamentId + ",\"registrationDate\":20299}\n").getBytes(StandardCharsets.UTF_8);
+      position = 0;
+      return true;
+    }
+  }
+
+  private static final class LineCounter extends OutputStream {
+
+    private final HeapSampler heap;
+    private long bytes;
+    private long lines;
+
+    private LineCounter(HeapSampler heap) {
+      this.heap = heap;
+    }
+
+    @Override
+    public void write(int b) {
+      count(b);
+    }
+
+    @Override
+    public void write(byte[] buffer, int offset, int length) {
+      for (int i = offset; i < offset + length; i++) {
+        count(buffer[i]);
+      }
+    }
+
+    private void count(int b) {
+      bytes++;
+      if (b == '\n' && ++lines % SAMPLE_EVERY == 0) {
+        heap.sample();
+      }
+    }
+  }
+}
@@ -0,0 +1,107 @@
+package com.vgt.tournaments;
+
+import com.vgt.tournaments.repositories.PlayerRepository;
+import com.vgt.tournaments.repositories.TournamentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:transfer",
+    "tournaments.import.chunk-size=2"
+})
+@AutoConfigureMockMvc
+class DataTransferTest {
+
+  private static final MediaType NDJSON = MediaType.valueOf("application/x-ndjson");
+
+  @Autowired
+  MockMvc mockMvc;
+
+  @Autowired
+  TournamentRepository tournamentRepository;
+
+  @Autowired
+  PlayerRepository playerRepository;
+
+  @Test
+  void testImportedRowsComeBackInTheExport() throws Exception {
+    String tournaments = """
+        name,gameTitle,maxPlayers,startDate,status
+        "Cup, ""spring"" edition",chess,8,20300,FINISHED
+        league,go,4,20301,
+        open,chess,16,20302,STARTED
+        """;
+    mockMvc.perform(post("/api/import").param("dataSet", "tournaments")
+            .contentType(MediaType.valueOf("text/csv")).content(tournaments))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.rows").value(3));
+
+    Long cupId = tournamentRepository.findAll().stream()
+        .filter(tournament -> tournament.getName().startsWith("Cup"))
+        .findFirst().orElseThrow().getId();
+    String players = "{\"name\":\"Danna\",\"nickName\":\"Sakura\",\"tournamentId\":" + cupId + ",\"registrationDate\":20299}\n"
+        + "{\"name\":\"Aaron\",\"tournamentId\":" + cupId + "}\n";
+    mockMvc.perform(post("/api/import").param("dataSet", "players").contentType(NDJSON).content(players))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.rows").value(2));
+    assertEquals(2, playerRepository.countByTournamentId(cupId));
+
+    List<String> csv = lines(export("tournaments", "csv"));
+    assertEquals("id,name,gameTitle,maxPlayers,startDate,status,version", csv.get(0));
+    assertTrue(csv.contains(cupId + ",\"Cup, \"\"spring\"\" edition\",chess,8,20300,FINISHED,0"), csv.toString());
+    assertTrue(csv.stream().anyMatch(line -> line.endsWith(",league,go,4,20301,UPCOMING,0")), csv.toString());
+
+    List<String> ndjson = lines(export("players", "ndjson"));
+    assertTrue(ndjson.stream().anyMatch(line -> line.contains("\"name\":\"Danna\",\"nickName\":\"Sakura\",\"tournamentId\":"
+        + cupId + ",\"registrationDate\":20299}")), ndjson.toString());
+    assertTrue(ndjson.stream().anyMatch(line -> line.contains("\"name\":\"Aaron\",\"nickName\":null")), ndjson.toString());
+  }
+
+  @Test
+  void testInvalidRecordsAreRejectedWithTheirPosition() throws Exception {
+    mockMvc.perform(post("/api/import").param("dataSet", "players").contentType(NDJSON)
+            .content("{\"name\":\"nobody\",\"tournamentId\":" + Long.MAX_VALUE + "}\n"))
+        .andExpect(status().isBadRequest())
+        .andExpect(status().reason("Record 1: The tournament does not exist (0 rows were imported before it)"));
+
+    mockMvc.perform(post("/api/import").param("dataSet", "tournaments").contentType(NDJSON)
+            .content("{\"maxPlayers\":4,\"startDate\":20300}\n{\"maxPlayers\":1,\"startDate\":20300}\n"))
+        .andExpect(status().isBadRequest())
+        .andExpect(status().reason("Record 2: The minimum number of players is 2 (0 rows were imported before it)"));
+
+    mockMvc.perform(get("/api/export/brackets"))
+        .andExpect(status().isBadRequest());
+  }
+
+  private String export(String dataSet, String format) throws Exception {
+    MvcResult result = mockMvc.perform(get("/api/export/" + dataSet).param("format", format))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    return mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(format.equals("csv") ? MediaType.valueOf("text/csv") : NDJSON))
+        .andReturn().getResponse().getContentAsString();
+  }
+
+  private static List<String> lines(String content) {
+    return Arrays.asList(content.split("\n"));
+  }
+}
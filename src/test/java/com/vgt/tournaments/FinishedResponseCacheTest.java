@@ -0,0 +1,207 @@
+package com.vgt.tournaments;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.vgt.tournaments.domain.Tournament;
+import com.vgt.tournaments.domain.enums.TournamentStatus;
+import com.vgt.tournaments.dto.UpdateTournamentDto;
+import com.vgt.tournaments.repositories.TournamentRepository;
+import com.vgt.tournaments.services.PlayerService;
+import com.vgt.tournaments.services.RegisteredPlayersCounter;
+import com.vgt.tournaments.services.TournamentService;
+import com.vgt.tournaments.web.FinishedResponseCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.Matchers.hasItems;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:finished-responses",
+    "tournaments.response-cache.gzip-min-size=200B",
+    // Background recounts would evict entries while a test compares the weight of the cache
+    "tournaments.registered-players.flush-interval=PT1H"
+})
+@AutoConfigureMockMvc
+class FinishedResponseCacheTest {
+
+  @Autowired
+  MockMvc mockMvc;
+
+  @Autowired
+  ObjectMapper objectMapper;
+
+  @Autowired
+  FinishedResponseCache finishedResponses;
+
+  @Autowired
+  TournamentService tournamentService;
+
+  @Autowired
+  PlayerService playerService;
+
+  @Autowired
+  TournamentRepository tournamentRepository;
+
+  @Autowired
+  RegisteredPlayersCounter registeredPlayersCounter;
+
+  @Autowired
+  JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  CacheManager cacheManager;
+
+  @Autowired
+  EntityManagerFactory entityManagerFactory;
+
+  @Test
+  void testFinishedTournamentIsServedFromItsEncodedBytes() throws Exception {
+    Long started = tournament(TournamentStatus.STARTED).getId();
+    long weight = finishedResponses.weight();
+    mockMvc.perform(get("/api/tournaments/{id}", started)).andExpect(status().isOk());
+    assertEquals(weight, finishedResponses.weight());
+
+    Tournament finished = tournament(TournamentStatus.FINISHED);
+    Long id = finished.getId();
+    mockMvc.perform(get("/api/tournaments/{id}", id)).andExpect(status().isOk());
+    assertTrue(finishedResponses.weight() > weight);
+
+    // Changed behind every cache: only the encoded bytes can still answer with the old name
+    jdbcTemplate.update("update tournament set name = 'renamed' where id = ?", id);
+    forgetEntities(id);
+    String etag = mockMvc.perform(get("/api/tournaments/{id}", id))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+        .andExpect(header().string(HttpHeaders.ETAG, "\"" + finished.getVersion() + ".0\""))
+        .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+        .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    assertEquals("finished", json(id).get("name").asText());
+    mockMvc.perform(get("/api/tournaments/{id}", id).header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isNotModified());
+
+    tournamentService.update(id, new UpdateTournamentDto("updated", "finished game", 8, null, null));
+    assertEquals("updated", json(id).get("name").asText());
+  }
+
+  @Test
+  void testEveryFormatAndCodingHasItsOwnTag() throws Exception {
+    Long id = tournamentRepository.save(Tournament.builder()
+        .name("finished")
+        .gameTitle("finished game ".repeat(20))
+        .maxPlayers(8)
+        .startDate(LocalDate.now().toEpochDay())
+        .status(TournamentStatus.FINISHED)
+        .build()).getId();
+
+    String identity = mockMvc.perform(get("/api/tournaments/{id}", id))
+        .andExpect(status().isOk())
+        .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+        .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    String gzip = mockMvc.perform(get("/api/tournaments/{id}", id).header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+        .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    String cbor = mockMvc.perform(get("/api/tournaments/{id}", id).accept(MediaType.APPLICATION_CBOR))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    assertEquals(3, Set.of(identity, gzip, cbor).size());
+
+    // A tag of the gzipped bytes does not validate the identity ones
+    mockMvc.perform(get("/api/tournaments/{id}", id).header(HttpHeaders.IF_NONE_MATCH, gzip))
+        .andExpect(status().isOk())
+        .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+    mockMvc.perform(get("/api/tournaments/{id}", id).header(HttpHeaders.IF_NONE_MATCH, gzip)
+            .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+        .andExpect(status().isNotModified())
+        .andExpect(header().stringValues(HttpHeaders.VARY, hasItems(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)));
+  }
+
+  @Test
+  void testRecountedTournamentIsEncodedAgain() throws Exception {
+    Long id = tournament(TournamentStatus.FINISHED).getId();
+    jdbcTemplate.update("insert into player (id, name, nick_name, tournament_id, registration_date)"
+        + " values (next value for player_seq, 'imported', 'i', ?, 20000)", id);
+    assertEquals(0, json(id).get("registeredPlayers").asInt());
+
+    registeredPlayersCounter.repair();
+
+    assertEquals(1, json(id).get("registeredPlayers").asInt());
+  }
+
+  @Test
+  void testFinishedRosterIsGzippedWhenAcceptedAndEvictedByDeletions() throws Exception {
+    Long id = tournament(TournamentStatus.FINISHED).getId();
+    for (int i = 0; i < 20; i++) {
+      jdbcTemplate.update("insert into player (id, name, nick_name, tournament_id, registration_date)"
+          + " values (next value for player_seq, ?, ?, ?, 20000)", "player " + i, "p" + i, id);
+    }
+
+    byte[] gzipped = mockMvc.perform(get("/api/tournaments/{id}/players", id).header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+        .andReturn().getResponse().getContentAsByteArray();
+    JsonNode roster = objectMapper.readTree(gunzip(gzipped));
+    assertEquals(20, roster.size());
+
+    byte[] cbor = mockMvc.perform(get("/api/tournaments/{id}/players", id).accept(MediaType.APPLICATION_CBOR))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+        .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+        .andReturn().getResponse().getContentAsByteArray();
+    assertEquals(roster, new CBORMapper().readTree(cbor));
+
+    playerService.delete(roster.get(0).get("id").asLong());
+    byte[] remaining = mockMvc.perform(get("/api/tournaments/{id}/players", id))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsByteArray();
+    assertEquals(19, objectMapper.readTree(remaining).size());
+  }
+
+  private Tournament tournament(TournamentStatus status) {
+    return tournamentRepository.save(Tournament.builder()
+        .name(status.name().toLowerCase())
+        .gameTitle("finished game")
+        .maxPlayers(8)
+        .startDate(LocalDate.now().toEpochDay())
+        .status(status)
+        .build());
+  }
+
+  private JsonNode json(Long id) throws Exception {
+    return objectMapper.readTree(mockMvc.perform(get("/api/tournaments/{id}", id))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsByteArray());
+  }
+
+  private void forgetEntities(Long id) {
+    cacheManager.getCache(TournamentService.TOURNAMENTS_CACHE).evict(id);
+    entityManagerFactory.getCache().evict(Tournament.class, id);
+  }
+
+  private static byte[] gunzip(byte[] bytes) throws IOException {
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+      return in.readAllBytes();
+    }
+  }
+}
@@ -0,0 +1,99 @@
+package com.vgt.tournaments;
+
+import com.vgt.tournaments.web.FinishedResponseCache;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Seeds finished tournaments, some with a full roster, and compares answering them from the
+ * encoded response cache with loading and serializing them, and reports the weight of the cached
+ * tournaments. Run with {@code mvn test -Pperf}.
+ */
+@Tag("perf")
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:finished-responses-perf",
+    "tournaments.admission.enabled=false"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class FinishedResponsePerfTest {
+
+  private static final int TOURNAMENTS = 100_000;
+  private static final int ROSTERS = 2_000;
+  private static final int ROSTER_SIZE = 50;
+
+  @Autowired
+  MockMvc mockMvc;
+
+  @Autowired
+  JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  FinishedResponseCache finishedResponses;
+
+  private long firstId;
+
+  @BeforeAll
+  void seed() {
+    jdbcTemplate.update("INSERT INTO tournament (name, game_title, max_players, start_date, status, version)"
+        + " SELECT 'tournament ' || X, 'game ' || MOD(X, 50), 64, 20000 + MOD(X, 365), 'FINISHED', 0"
+        + " FROM SYSTEM_RANGE(1, ?)", TOURNAMENTS);
+    firstId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM tournament WHERE name = 'tournament 1'", Long.class);
+    jdbcTemplate.update("INSERT INTO player (id, name, nick_name, tournament_id, registration_date)"
+        + " SELECT NEXT VALUE FOR player_seq, 'player ' || X, 'p' || X, ? + MOD(X, ?), 20000"
+        + " FROM SYSTEM_RANGE(1, ?)", firstId, ROSTERS, ROSTERS * ROSTER_SIZE);
+  }
+
+  @Test
+  void encodedResponsesAreCheaperThanLoadingAndSerializing() throws Exception {
+    long[] tournamentMisses = time(TOURNAMENTS, "/api/tournaments/{id}", null);
+    long[] tournamentHits = time(TOURNAMENTS, "/api/tournaments/{id}", null);
+    long weight = finishedResponses.weight();
+
+    long[] rosterMisses = time(ROSTERS, "/api/tournaments/{id}/players", "gzip");
+    long[] rosterHits = time(ROSTERS, "/api/tournaments/{id}/players", "gzip");
+
+    System.out.printf("tournament miss  p50 %6.1f us  p99 %6.1f us%n", micros(tournamentMisses, 50), micros(tournamentMisses, 99));
+    System.out.printf("tournament hit   p50 %6.1f us  p99 %6.1f us%n", micros(tournamentHits, 50), micros(tournamentHits, 99));
+    System.out.printf("roster miss      p50 %6.1f us  p99 %6.1f us%n", micros(rosterMisses, 50), micros(rosterMisses, 99));
+    System.out.printf("roster hit       p50 %6.1f us  p99 %6.1f us%n", micros(rosterHits, 50), micros(rosterHits, 99));
+    System.out.printf("%d tournaments cached: weight %d bytes (%d per tournament)%n",
+        TOURNAMENTS, weight, weight / TOURNAMENTS);
+
+    assertTrue(micros(tournamentHits, 50) < micros(tournamentMisses, 50));
+    assertTrue(micros(rosterHits, 50) < micros(rosterMisses, 50));
+  }
+
+  private long[] time(int count, String path, String acceptEncoding) throws Exception {
+    long[] nanos = new long[count];
+    for (int i = 0; i < count; i++) {
+      var request = get(path, firstId + i);
+      if (acceptEncoding != null) {
+        request.header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+      }
+      long start = System.nanoTime();
+      mockMvc.perform(request).andExpect(status().isOk());
+      nanos[i] = System.nanoTime() - start;
+    }
+    Arrays.sort(nanos);
+    return nanos;
+  }
+
+  private static double micros(long[] sorted, int percentile) {
+    return sorted[Math.min(sorted.length - 1, sorted.length * percentile / 100)] / 1_000.0;
+  }
+}
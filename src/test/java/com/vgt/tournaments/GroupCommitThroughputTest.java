@@ -0,0 +1,123 @@
+package com.vgt.tournaments;
+
+import com.vgt.tournaments.domain.Player;
+import com.vgt.tournaments.domain.Tournament;
+import com.vgt.tournaments.domain.enums.TournamentStatus;
+import com.vgt.tournaments.dto.CreatePlayerDto;
+import com.vgt.tournaments.repositories.PlayerRepository;
+import com.vgt.tournaments.repositories.TournamentRepository;
+import com.vgt.tournaments.services.PlayerService;
+import com.vgt.tournaments.services.RegistrationPipeline;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Throughput and caller latency of the write-behind registration pipeline for several group
+ * sizes, against one transaction per registration. Run with {@code mvn test -Pperf}.
+ */
+@Tag("perf")
+@SpringBootTest
+class GroupCommitThroughputTest {
+
+  private static final int CLIENTS = 64;
+  private static final int PLAYERS_PER_CLIENT = 200;
+  private static final int[] GROUP_SIZES = {1, 8, 32, 128, 512};
+  private static final Duration MAX_DELAY = Duration.ofMillis(5);
+
+  @Autowired
+  PlayerService playerService;
+
+  @Autowired
+  PlayerRepository playerRepository;
+
+  @Autowired
+  TournamentRepository tournamentRepository;
+
+  @Test
+  void throughputAndLatencyByGroupSize() throws Exception {
+
+    run("synchronous", dto -> CompletableFuture.completedFuture(playerService.create(dto)));
+
+    for (int groupSize : GROUP_SIZES) {
+      RegistrationPipeline pipeline = new RegistrationPipeline(playerService, groupSize, MAX_DELAY, CLIENTS * 2);
+      try {
+        run("group(" + groupSize + ")", pipeline::submit);
+      } finally {
+        pipeline.shutdown();
+      }
+    }
+  }
+
+  private void run(String label, Registrar registrar) throws Exception {
+    Long tournamentId = openTournament();
+    // Warm up so the first configuration does not pay for class loading
+    registrar.register(player(tournamentId, -1)).get();
+
+    long[] latencies = new long[CLIENTS * PLAYERS_PER_CLIENT];
+    long start = System.nanoTime();
+    try (ExecutorService clients = Executors.newFixedThreadPool(CLIENTS)) {
+      List<Future<?>> done = new ArrayList<>();
+      for (int c = 0; c < CLIENTS; c++) {
+        int client = c;
+        done.add(clients.submit(() -> {
+          for (int i = 0; i < PLAYERS_PER_CLIENT; i++) {
+            int n = client * PLAYERS_PER_CLIENT + i;
+            long sent = System.nanoTime();
+            registrar.register(player(tournamentId, n)).join();
+            latencies[n] = System.nanoTime() - sent;
+          }
+          return null;
+        }));
+      }
+      for (Future<?> future : done) {
+        future.get();
+      }
+    }
+    long elapsed = System.nanoTime() - start;
+
+    assertEquals(latencies.length + 1, playerRepository.countByTournamentId(tournamentId));
+
+    Arrays.sort(latencies);
+    System.out.printf("%-14s %7.0f players/s  p50 %6.2f ms  p99 %6.2f ms%n", label,
+        latencies.length * 1e9 / elapsed,
+        latencies[latencies.length / 2] / 1e6,
+        latencies[(int) (latencies.length * 0.99)] / 1e6);
+  }
+
+  private Long openTournament() {
+    return tournamentRepository.save(Tournament.builder()
+        .name("group commit")
+        .gameTitle("group commit")
+        .maxPlayers(CLIENTS * PLAYERS_PER_CLIENT * 2)
+        .startDate(LocalDate.now().toEpochDay())
+        .status(TournamentStatus.STARTED)
+        .build()).getId();
+  }
+
+  private static CreatePlayerDto player(Long tournamentId, int i) {
+    return CreatePlayerDto.builder()
+        .name("player " + i)
+        .nickName("p" + i)
+        .tournamentId(tournamentId)
+        .build();
+  }
+
+  @FunctionalInterface
+  private interface Registrar {
+    CompletableFuture<Player> register(CreatePlayerDto dto);
+  }
+}
@@ -0,0 +1,81 @@
+package com.vgt.tournaments;
+
+import com.vgt.tournaments.web.IdempotencyStore;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdempotencyStoreTest {
+
+  private final IdempotencyStore store = new IdempotencyStore(1000, Duration.ofMinutes(1));
+
+  @Test
+  void testRetryReturnsTheOriginalResultWithoutRunningAgain() {
+    AtomicInteger runs = new AtomicInteger();
+
+    String first = store.execute("POST /things", "key-1", "body", () -> "created " + runs.incrementAndGet());
+    String retry = store.execute("POST /things", "key-1", "body", () -> "created " + runs.incrementAndGet());
+
+    assertEquals("created 1", first);
+    assertEquals("created 1", retry);
+    assertEquals(1, runs.get());
+  }
+
+  @Test
+  void testConcurrentDuplicatesWaitForTheFirstExecution() throws Exception {
+    AtomicInteger runs = new AtomicInteger();
+    CountDownLatch running = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    CompletableFuture<String> first = CompletableFuture.supplyAsync(() ->
+        store.execute("POST /things", "key-1", "body", () -> {
+          runs.incrementAndGet();
+          running.countDown();
+          await(release);
+          return "created";
+        }));
+    assertTrue(running.await(5, TimeUnit.SECONDS));
+
+    CompletableFuture<String> duplicate = CompletableFuture.supplyAsync(() ->
+        store.execute("POST /things", "key-1", "body", () -> "created " + runs.incrementAndGet()));
+    release.countDown();
+
+    assertEquals("created", first.get(5, TimeUnit.SECONDS));
+    assertEquals("created", duplicate.get(5, TimeUnit.SECONDS));
+    assertEquals(1, runs.get());
+  }
+
+  @Test
+  void testFailuresAreNotRemembered() {
+    assertThrows(IllegalArgumentException.class, () -> store.execute("POST /things", "key-1", "body", () -> {
+      throw new IllegalArgumentException("The tournament is full");
+    }));
+
+    assertEquals("created", store.execute("POST /things", "key-1", "body", () -> "created"));
+  }
+
+  @Test
+  void testKeyCanNotBeReusedForAnotherRequest() {
+    store.execute("POST /things", "key-1", "body", () -> "created");
+
+    assertThrows(IllegalStateException.class,
+        () -> store.execute("POST /things", "key-1", "other body", () -> "created"));
+    assertEquals("other", store.execute("POST /other", "key-1", "other body", () -> "other"));
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,122 @@
+package com.vgt.tournaments;
+
+import com.vgt.tournaments.domain.enums.TournamentStatus;
+import com.vgt.tournaments.dto.TournamentFilter;
+import com.vgt.tournaments.repositories.PlayerRepository;
+import com.vgt.tournaments.services.TournamentService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Seeds 1M players over 10k tournaments into a dedicated H2 database and times the indexed
+ * lookups. Each lookup must be planned on its index and take under a millisecond at the median.
+ * Run with {@code mvn test -Pperf}.
+ */
+@Tag("perf")
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:indexed-lookups")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class IndexedLookupPerfTest {
+
+  private static final int TOURNAMENTS = 10_000;
+  private static final int PLAYERS = 1_000_000;
+  private static final int SAMPLES = 2_000;
+
+  @Autowired
+  JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  PlayerRepository playerRepository;
+
+  @Autowired
+  TournamentService tournamentService;
+
+  private long firstTournamentId;
+
+  @BeforeAll
+  void seed() {
+    long start = System.nanoTime();
+    long today = LocalDate.now().toEpochDay();
+    jdbcTemplate.update("INSERT INTO tournament (name, game_title, max_players, start_date, status, version)"
+        + " SELECT 'tournament ' || X, 'game ' || MOD(X, 50), 200, ? + MOD(X, 365),"
+        + " CASEWHEN(MOD(X, 3) = 0, 'STARTED', CASEWHEN(MOD(X, 3) = 1, 'UPCOMING', 'FINISHED')), 0"
+        + " FROM SYSTEM_RANGE(1, ?)", today, TOURNAMENTS);
+    firstTournamentId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM tournament WHERE name = 'tournament 1'", Long.class);
+    jdbcTemplate.update("INSERT INTO player (id, name, nick_name, tournament_id, registration_date)"
+        + " SELECT NEXT VALUE FOR player_seq, 'player ' || X, 'p' || X, ? + MOD(X, ?), ? - MOD(X, 30)"
+        + " FROM SYSTEM_RANGE(1, ?)", firstTournamentId, TOURNAMENTS, today, PLAYERS);
+    jdbcTemplate.execute("ANALYZE");
+    System.out.printf("seeded %d tournaments and %d players in %d ms%n",
+        TOURNAMENTS, PLAYERS, (System.nanoTime() - start) / 1_000_000);
+  }
+
+  @Test
+  void lookupsStayIndexedAndSubMillisecond() {
+    lookup("player by tournament", "SELECT * FROM player WHERE tournament_id = ?", "IDX_PLAYER_TOURNAMENT");
+    lookup("player count", "SELECT COUNT(*) FROM player WHERE tournament_id = ?", "IDX_PLAYER_TOURNAMENT");
+    lookup("player seed order", "SELECT id FROM player WHERE tournament_id = ? ORDER BY registration_date, id",
+        "IDX_PLAYER_TOURNAMENT");
+    lookup("tournament by status", "SELECT * FROM tournament WHERE status = 'STARTED' AND id > ?"
+        + " ORDER BY id FETCH FIRST 51 ROWS ONLY", "IDX_TOURNAMENT_STATUS");
+    lookup("tournament by start date", "SELECT * FROM tournament WHERE start_date = "
+        + LocalDate.now().toEpochDay() + " + MOD(?, 365)"
+        + " ORDER BY id FETCH FIRST 51 ROWS ONLY", "IDX_TOURNAMENT_START_DATE");
+  }
+
+  @Test
+  void repositoryLookups() {
+    // End-to-end times include entity hydration and the timing aspect; reported, not asserted
+    time("findPlayersByTournamentId", id -> playerRepository.findPlayersByTournamentId(id));
+    time("countByTournamentId", id -> playerRepository.countByTournamentId(id));
+    time("findPlayerIdsInSeedOrder", id -> playerRepository.findPlayerIdsInSeedOrder(id));
+    time("findPage(status)", id -> tournamentService.findPage(id, 50,
+        TournamentFilter.builder().status(TournamentStatus.STARTED).build()));
+    time("findPage(startDate)", id -> tournamentService.findPage(id, 50, TournamentFilter.builder()
+        .startDateFrom(LocalDate.now().plusDays(30))
+        .startDateTo(LocalDate.now().plusDays(60))
+        .build()));
+  }
+
+  private void lookup(String lookup, String sql, String index) {
+    // The plan is checked against the seeded statistics, not against an empty table
+    String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql.replace("?", "1"), String.class);
+    assertTrue(plan.contains(index), () -> lookup + " does not use " + index + ":\n" + plan);
+
+    double p50 = time(lookup, id -> jdbcTemplate.query(sql, (RowCallbackHandler) rs -> { }, id));
+    assertTrue(p50 < 1.0, () -> lookup + " took " + p50 + " ms at the median");
+  }
+
+  private double time(String lookup, LongConsumer query) {
+    // Warm up the statement cache and the JIT before measuring
+    for (int i = 0; i < SAMPLES / 4; i++) {
+      query.accept(randomTournament());
+    }
+    long[] nanos = new long[SAMPLES];
+    for (int i = 0; i < SAMPLES; i++) {
+      long tournamentId = randomTournament();
+      long start = System.nanoTime();
+      query.accept(tournamentId);
+      nanos[i] = System.nanoTime() - start;
+    }
+    Arrays.sort(nanos);
+    double p50 = nanos[SAMPLES / 2] / 1e6;
+    System.out.printf("%-26s p50 %.3f ms  p99 %.3f ms%n", lookup, p50, nanos[SAMPLES * 99 / 100] / 1e6);
+    return p50;
+  }
+
+  private long randomTournament() {
+    return firstTournamentId + ThreadLocalRandom.current().nextInt(TOURNAMENTS);
+  }
+}
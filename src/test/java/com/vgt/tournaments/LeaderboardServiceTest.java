@@ -0,0 +1,116 @@
+package com.vgt.tournaments;
+
+import com.vgt.tournaments.domain.Player;
+import com.vgt.tournaments.domain.Tournament;
+import com.vgt.tournaments.domain.enums.TournamentStatus;
+import com.vgt.tournaments.dto.LeaderboardEntry;
+import com.vgt.tournaments.dto.RecordMatchResultDto;
+import com.vgt.tournaments.leaderboards.LeaderboardService;
+import com.vgt.tournaments.repositories.PlayerRatingRepository;
+import com.vgt.tournaments.repositories.PlayerRepository;
+import com.vgt.tournaments.services.TournamentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+class LeaderboardServiceTest {
+
+  private static final int PLAYERS = 60;
+
+  private final TournamentService tournamentService = mock(TournamentService.class);
+  private final PlayerRepository playerRepository = mock(PlayerRepository.class);
+  private final PlayerRatingRepository playerRatingRepository = mock(PlayerRatingRepository.class);
+  private final LeaderboardService leaderboardService = new LeaderboardService(tournamentService, playerRepository,
+      playerRatingRepository, new TransactionTemplate(mock(PlatformTransactionManager.class)));
+
+  private final Tournament tournament = Tournament.builder()
+      .id(1L)
+      .name("Camilo Rubio")
+      .gameTitle("chess")
+      .maxPlayers(PLAYERS)
+      .startDate(212L)
+      .status(TournamentStatus.STARTED)
+      .build();
+
+  @Test
+  void testRecordResultUpdatesRatings() {
+
+    registerPlayers();
+
+    List<LeaderboardEntry> entries = leaderboardService.recordResult(RecordMatchResultDto.builder()
+        .tournamentId(1L)
+        .winnerId(1L)
+        .loserId(2L)
+        .build());
+
+    assertEquals(1516, entries.get(0).rating(), 0.001);
+    assertEquals(1484, entries.get(1).rating(), 0.001);
+    assertEquals(1, leaderboardService.findEntry("chess", 1L).rank());
+    assertEquals(2, leaderboardService.findEntry("chess", 2L).rank());
+    verify(playerRatingRepository, times(1)).saveAll(anyIterable());
+  }
+
+  @Test
+  void testRanksMatchSortedRatings() {
+
+    registerPlayers();
+
+    Random random = new Random(42);
+    for (int i = 0; i < 3_000; i++) {
+      long winner = random.nextInt(PLAYERS) + 1;
+      long loser = random.nextInt(PLAYERS) + 1;
+      if (winner != loser) {
+        leaderboardService.recordResult(RecordMatchResultDto.builder()
+            .tournamentId(1L)
+            .winnerId(winner)
+            .loserId(loser)
+            .draw(random.nextInt(10) == 0)
+            .build());
+      }
+    }
+
+    List<LeaderboardEntry> top = leaderboardService.top("chess", PLAYERS);
+
+    assertEquals(PLAYERS, top.size());
+    for (int i = 0; i < top.size(); i++) {
+      LeaderboardEntry entry = top.get(i);
+      assertEquals(i + 1, entry.rank());
+      assertEquals(i + 1, leaderboardService.findEntry("chess", entry.playerId()).rank());
+      if (i > 0) {
+        assertTrue(top.get(i - 1).rating() >= entry.rating());
+      }
+    }
+  }
+
+  @Test
+  void testRecordResultFailButSamePlayer() {
+
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> leaderboardService.recordResult(RecordMatchResultDto.builder()
+            .tournamentId(1L)
+            .winnerId(1L)
+            .loserId(1L)
+            .build()));
+
+    assertEquals("A player can not play against itself", exception.getMessage());
+    verifyNoInteractions(playerRatingRepository);
+  }
+
+  private void registerPlayers() {
+    when(tournamentService.findById(1L)).thenReturn(tournament);
+    when(playerRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+      Iterable<Long> ids = invocation.getArgument(0);
+      List<Player> players = new ArrayList<>();
+      ids.forEach(id -> players.add(Player.builder().id(id).tournamentId(1L).build()));
+      return players;
+    });
+  }
+}
@@ -0,0 +1,91 @@
+package com.vgt.tournaments;
+
+import com.vgt.tournaments.domain.Tournament;
+import com.vgt.tournaments.domain.enums.TournamentStatus;
+import com.vgt.tournaments.dto.CreatePlayerDto;
+import com.vgt.tournaments.repositories.PlayerRepository;
+import com.vgt.tournaments.repositories.TournamentRepository;
+import com.vgt.tournaments.services.PlayerService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares one transaction per player against {@code createBatch}. Run with {@code mvn test -Pperf}.
+ */
+@Tag("perf")
+@SpringBootTest
+class PlayerRegistrationThroughputTest {
+
+  private static final int PLAYERS = 10_000;
+  private static final int BATCH_SIZE = 500;
+
+  @Autowired
+  PlayerService playerService;
+
+  @Autowired
+  PlayerRepository playerRepository;
+
+  @Autowired
+  TournamentRepository tournamentRepository;
+
+  @Test
+  void singleVersusBatchRegistration() {
+
+    Long singleTournament = openTournament();
+    Long batchTournament = openTournament();
+
+    // Warm up both paths so the comparison is not dominated by class loading
+    playerService.create(player(singleTournament, -1));
+    playerService.createBatch(List.of(player(batchTournament, -1)));
+
+    long start = System.nanoTime();
+    for (int i = 0; i < PLAYERS; i++) {
+      playerService.create(player(singleTournament, i));
+    }
+    long singleNanos = System.nanoTime() - start;
+
+    start = System.nanoTime();
+    for (int from = 0; from < PLAYERS; from += BATCH_SIZE) {
+      List<CreatePlayerDto> batch = new ArrayList<>(BATCH_SIZE);
+      for (int i = from; i < from + BATCH_SIZE; i++) {
+        batch.add(player(batchTournament, i));
+      }
+      playerService.createBatch(batch);
+    }
+    long batchNanos = System.nanoTime() - start;
+
+    assertEquals(PLAYERS + 1, playerRepository.countByTournamentId(singleTournament));
+    assertEquals(PLAYERS + 1, playerRepository.countByTournamentId(batchTournament));
+
+    System.out.printf("single: %d players in %d ms (%.0f players/s)%n",
+        PLAYERS, singleNanos / 1_000_000, PLAYERS * 1e9 / singleNanos);
+    System.out.printf("batch(%d): %d players in %d ms (%.0f players/s)%n",
+        BATCH_SIZE, PLAYERS, batchNanos / 1_000_000, PLAYERS * 1e9 / batchNanos);
+  }
+
+  private Long openTournament() {
+    return tournamentRepository.save(Tournament.builder()
+        .name("throughput")
+        .gameTitle("throughput")
+        .maxPlayers(PLAYERS * 2)
+        .startDate(LocalDate.now().toEpochDay())
+        .status(TournamentStatus.STARTED)
+        .build()).getId();
+  }
+
+  private static CreatePlayerDto player(Long tournamentId, int i) {
+    return CreatePlayerDto.builder()
+        .name("player " + i)
+        .nickName("p" + i)
+        .tournamentId(tournamentId)
+        .build();
+  }
+}
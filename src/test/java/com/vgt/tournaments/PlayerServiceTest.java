@@ -8,7 +8,9 @@ import com.vgt.tournaments.dto.CreateTournamentDto;
 import com.vgt.tournaments.repositories.PlayerRepository;
 import com.vgt.tournaments.repositories.TournamentRepository;
 import com.vgt.tournaments.services.PlayerService;
+import com.vgt.tournaments.services.TournamentCapacity;
 import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDate;
 import java.util.Collections;
@@ -17,7 +19,9 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 class PlayerServiceTest {
@@ -26,20 +30,105 @@ class PlayerServiceTest {
     void testDelete() {
         PlayerRepository playerRepository = mock(PlayerRepository.class);
         TournamentRepository tournamentRepository = mock(TournamentRepository.class);
-        PlayerService playerService = new PlayerService(playerRepository, tournamentRepository);
+        PlayerService playerService = new PlayerService(playerRepository, tournamentRepository,
+                new TournamentCapacity(playerRepository), mock(ApplicationEventPublisher.class));
 
-        Player player = Player.builder()
-                .name("Danna")
-                .nickName("Sakura")
-                .tournamentId(1L)
-                .registrationDate(LocalDate.now().toEpochDay())
+        when(playerRepository.findTournamentIdById(1L)).thenReturn(Optional.of(1L));
+        when(playerRepository.deleteWithoutLoading(1L)).thenReturn(1);
+
+        playerService.delete(1L);
+
+        verify(playerRepository, times(1)).deleteWithoutLoading(1L);
+        verify(playerRepository, never()).findById(any());
+        verify(playerRepository, never()).delete(any());
+    }
+
+    @Test
+    void testCreateBatchSuccess() {
+        PlayerRepository playerRepository = mock(PlayerRepository.class);
+        TournamentRepository tournamentRepository = mock(TournamentRepository.class);
+        PlayerService playerService = new PlayerService(playerRepository, tournamentRepository,
+                new TournamentCapacity(playerRepository), mock(ApplicationEventPublisher.class));
+
+        Tournament tournament = Tournament.builder()
+                .id(1L)
+                .name("Camilo Rubio")
+                .gameTitle("second tournament")
+                .maxPlayers(3)
+                .startDate(212L)
+                .status(TournamentStatus.STARTED)
                 .build();
 
-        when(playerRepository.findById(1L)).thenReturn(Optional.of(player));
+        List<CreatePlayerDto> dtos = List.of(
+                CreatePlayerDto.builder().name("Danna").nickName("Sakura").tournamentId(1L).build(),
+                CreatePlayerDto.builder().name("Juan").nickName("juan2003").tournamentId(1L).build());
 
-        playerService.delete(1L);
+        when(tournamentRepository.findAllById(any())).thenReturn(List.of(tournament));
+        when(playerRepository.countByTournamentId(1L)).thenReturn(1L);
+        when(playerRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<Player> players = playerService.createBatch(dtos);
+
+        assertNotNull(players);
+        assertEquals(2, players.size());
+        verify(tournamentRepository, times(1)).findAllById(any());
+        verify(playerRepository, times(1)).countByTournamentId(1L);
+        verify(playerRepository, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    void testCreateBatchFailButFull() {
+        PlayerRepository playerRepository = mock(PlayerRepository.class);
+        TournamentRepository tournamentRepository = mock(TournamentRepository.class);
+        PlayerService playerService = new PlayerService(playerRepository, tournamentRepository,
+                new TournamentCapacity(playerRepository), mock(ApplicationEventPublisher.class));
+
+        Tournament tournament = Tournament.builder()
+                .id(1L)
+                .maxPlayers(2)
+                .status(TournamentStatus.STARTED)
+                .build();
+
+        List<CreatePlayerDto> dtos = List.of(
+                CreatePlayerDto.builder().name("Danna").tournamentId(1L).build(),
+                CreatePlayerDto.builder().name("Juan").tournamentId(1L).build());
+
+        when(tournamentRepository.findAllById(any())).thenReturn(List.of(tournament));
+        when(playerRepository.countByTournamentId(1L)).thenReturn(1L);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> playerService.createBatch(dtos));
+
+        assertEquals("The tournament is full", exception.getMessage());
+        verify(playerRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void testCreateGroupRejectsOnlyInvalidRegistrations() {
+        PlayerRepository playerRepository = mock(PlayerRepository.class);
+        TournamentRepository tournamentRepository = mock(TournamentRepository.class);
+        PlayerService playerService = new PlayerService(playerRepository, tournamentRepository,
+                new TournamentCapacity(playerRepository), mock(ApplicationEventPublisher.class));
+
+        Tournament tournament = Tournament.builder()
+                .id(1L)
+                .maxPlayers(2)
+                .status(TournamentStatus.STARTED)
+                .build();
+
+        List<CreatePlayerDto> dtos = List.of(
+                CreatePlayerDto.builder().name("Danna").tournamentId(1L).build(),
+                CreatePlayerDto.builder().name("Nobody").tournamentId(2L).build(),
+                CreatePlayerDto.builder().name("Juan").tournamentId(1L).build());
+
+        when(tournamentRepository.findAllById(any())).thenReturn(List.of(tournament));
+        when(playerRepository.countByTournamentId(1L)).thenReturn(1L);
+
+        List<PlayerService.Registration> registrations = playerService.createGroup(dtos);
 
-        verify(playerRepository, times(1)).findById(1L);
-        verify(playerRepository, times(1)).delete(any());
+        assertEquals("Danna", registrations.get(0).player().getName());
+        assertEquals("The tournament does not exist", registrations.get(1).error().getMessage());
+        assertEquals("The tournament is full", registrations.get(2).error().getMessage());
+        verify(playerRepository, times(1)).saveAll(List.of(registrations.get(0).player()));
     }
 }
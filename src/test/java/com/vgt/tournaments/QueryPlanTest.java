@@ -0,0 +1,35 @@
+package com.vgt.tournaments;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the lookups behind the repositories are answered from an index rather than a table
+ * scan. The statements mirror the SQL Hibernate generates for each repository method.
+ */
+@SpringBootTest
+class QueryPlanTest {
+
+  @Autowired
+  JdbcTemplate jdbcTemplate;
+
+  @ParameterizedTest
+  @CsvSource(delimiter = '|', value = {
+      "SELECT * FROM player WHERE tournament_id = 1 | IDX_PLAYER_TOURNAMENT",
+      "SELECT COUNT(*) FROM player WHERE tournament_id = 1 | IDX_PLAYER_TOURNAMENT",
+      "SELECT id FROM player WHERE tournament_id = 1 ORDER BY registration_date, id | IDX_PLAYER_TOURNAMENT",
+      "SELECT * FROM tournament WHERE status = 'STARTED' AND id > 10 ORDER BY id FETCH FIRST 51 ROWS ONLY | IDX_TOURNAMENT_STATUS",
+      "SELECT * FROM tournament WHERE game_title = 'chess' ORDER BY id FETCH FIRST 51 ROWS ONLY | IDX_TOURNAMENT_GAME_TITLE",
+      "SELECT * FROM tournament WHERE start_date BETWEEN 20000 AND 20030 ORDER BY id FETCH FIRST 51 ROWS ONLY | IDX_TOURNAMENT_START_DATE"
+  })
+  void testLookupUsesIndex(String sql, String index) {
+    String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+
+    assertTrue(plan.contains(index), () -> "Expected " + index + " in plan:\n" + plan);
+  }
+}
@@ -0,0 +1,84 @@
+package com.vgt.tournaments;
+
+import com.vgt.tournaments.domain.Player;
+import com.vgt.tournaments.domain.Tournament;
+import com.vgt.tournaments.domain.enums.TournamentStatus;
+import com.vgt.tournaments.dto.CreatePlayerDto;
+import com.vgt.tournaments.repositories.TournamentRepository;
+import com.vgt.tournaments.services.PlayerService;
+import com.vgt.tournaments.services.RegisteredPlayersCounter;
+import com.vgt.tournaments.services.TournamentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:registered-players")
+class RegisteredPlayersCounterTest {
+
+  @Autowired
+  RegisteredPlayersCounter registeredPlayersCounter;
+
+  @Autowired
+  TournamentService tournamentService;
+
+  @Autowired
+  PlayerService playerService;
+
+  @Autowired
+  TournamentRepository tournamentRepository;
+
+  @Autowired
+  JdbcTemplate jdbcTemplate;
+
+  @Test
+  void testCounterFollowsRegistrationsAndDeletions() {
+    Tournament tournament = startedTournament();
+    Long id = tournament.getId();
+    // Cached before the registrations, which must evict it
+    assertEquals(0, tournamentService.findById(id).getRegisteredPlayers());
+
+    Player first = playerService.create(CreatePlayerDto.builder().name("Danna").tournamentId(id).build());
+    playerService.createBatch(List.of(
+        CreatePlayerDto.builder().name("Aaron").tournamentId(id).build(),
+        CreatePlayerDto.builder().name("Juan").tournamentId(id).build()));
+
+    registeredPlayersCounter.flush();
+    Tournament registered = tournamentService.findById(id);
+    assertEquals(3, registered.getRegisteredPlayers());
+    // Only the counter was written, an update holding the tournament does not conflict with it
+    assertEquals(tournament.getVersion(), registered.getVersion());
+
+    playerService.delete(first.getId());
+    registeredPlayersCounter.flush();
+    assertEquals(2, tournamentService.findById(id).getRegisteredPlayers());
+  }
+
+  @Test
+  void testRepairFixesDriftedCounters() {
+    Long id = startedTournament().getId();
+    playerService.create(CreatePlayerDto.builder().name("Danna").tournamentId(id).build());
+    jdbcTemplate.update("update tournament set registered_players = 7 where id = ?", id);
+
+    assertTrue(registeredPlayersCounter.repair() >= 1);
+
+    assertEquals(1, tournamentRepository.findById(id).orElseThrow().getRegisteredPlayers());
+    assertEquals(0, registeredPlayersCounter.repair());
+  }
+
+  private Tournament startedTournament() {
+    return tournamentRepository.save(Tournament.builder()
+        .name("counted")
+        .gameTitle("counted game")
+        .maxPlayers(10)
+        .startDate(LocalDate.now().toEpochDay())
+        .status(TournamentStatus.STARTED)
+        .build());
+  }
+}
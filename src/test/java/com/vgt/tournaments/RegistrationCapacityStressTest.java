@@ -0,0 +1,115 @@
+package com.vgt.tournaments;
+
+import com.vgt.tournaments.domain.Tournament;
+import com.vgt.tournaments.domain.enums.TournamentStatus;
+import com.vgt.tournaments.dto.CreatePlayerDto;
+import com.vgt.tournaments.repositories.PlayerRepository;
+import com.vgt.tournaments.repositories.TournamentRepository;
+import com.vgt.tournaments.services.PlayerService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Races 3,300 single and batch registrations on 32 threads against one tournament; exactly
+ * {@code maxPlayers} of them must get in. Run with {@code mvn test -Pperf}.
+ */
+@Tag("perf")
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:registration-capacity")
+class RegistrationCapacityStressTest {
+
+  private static final int MAX_PLAYERS = 200;
+  private static final int THREADS = 32;
+  private static final int SINGLE_ATTEMPTS = 3_000;
+  private static final int BATCH_ATTEMPTS = 300;
+  private static final int BATCH_SIZE = 5;
+
+  @Autowired
+  PlayerService playerService;
+
+  @Autowired
+  PlayerRepository playerRepository;
+
+  @Autowired
+  TournamentRepository tournamentRepository;
+
+  @Test
+  void testConcurrentRegistrationsNeverOvershootMaxPlayers() throws Exception {
+
+    Long tournamentId = tournamentRepository.save(Tournament.builder()
+        .name("stress")
+        .gameTitle("stress")
+        .maxPlayers(MAX_PLAYERS)
+        .startDate(LocalDate.now().toEpochDay())
+        .status(TournamentStatus.STARTED)
+        .build()).getId();
+
+    AtomicInteger admitted = new AtomicInteger();
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<?>> futures = new ArrayList<>();
+
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      for (int i = 0; i < SINGLE_ATTEMPTS; i++) {
+        int n = i;
+        futures.add(executor.submit(() -> {
+          start.await();
+          try {
+            playerService.create(player(tournamentId, n));
+            admitted.incrementAndGet();
+          } catch (IllegalArgumentException e) {
+            // The tournament is full
+          }
+          return null;
+        }));
+      }
+      for (int i = 0; i < BATCH_ATTEMPTS; i++) {
+        int n = i;
+        futures.add(executor.submit(() -> {
+          start.await();
+          List<CreatePlayerDto> batch = new ArrayList<>();
+          for (int j = 0; j < BATCH_SIZE; j++) {
+            batch.add(player(tournamentId, SINGLE_ATTEMPTS + n * BATCH_SIZE + j));
+          }
+          try {
+            playerService.createBatch(batch);
+            admitted.addAndGet(BATCH_SIZE);
+          } catch (IllegalArgumentException e) {
+            // The tournament is full
+          }
+          return null;
+        }));
+      }
+
+      start.countDown();
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertEquals(MAX_PLAYERS, admitted.get());
+    assertEquals(MAX_PLAYERS, playerRepository.countByTournamentId(tournamentId));
+  }
+
+  private static CreatePlayerDto player(Long tournamentId, int i) {
+    return CreatePlayerDto.builder()
+        .name("player " + i)
+        .nickName("p" + i)
+        .tournamentId(tournamentId)
+        .build();
+  }
+}
@@ -0,0 +1,144 @@
+package com.vgt.tournaments;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Policy.VarExpiration;
+import com.vgt.tournaments.config.SecondLevelCacheConfig;
+import com.vgt.tournaments.domain.Player;
+import com.vgt.tournaments.domain.Tournament;
+import com.vgt.tournaments.domain.enums.TournamentStatus;
+import com.vgt.tournaments.repositories.PlayerRepository;
+import com.vgt.tournaments.repositories.TournamentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.cache.CacheManager;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:second-level-cache",
+    "tournaments.l2-cache.tournaments.finished-ttl=PT12H",
+    "tournaments.l2-cache.tournaments.active-ttl=PT30S"
+})
+class SecondLevelCacheTest {
+
+  @Autowired
+  TournamentRepository tournamentRepository;
+
+  @Autowired
+  PlayerRepository playerRepository;
+
+  @Autowired
+  EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  CacheManager hibernateCacheManager;
+
+  @Autowired
+  MeterRegistry meterRegistry;
+
+  Statistics statistics;
+
+  @BeforeEach
+  void resetStatistics() {
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+  }
+
+  @Test
+  void testRepeatedReadsAreServedFromTheCache() {
+    Tournament tournament = save(TournamentStatus.STARTED);
+    playerRepository.save(Player.builder().name("Danna").tournamentId(tournament.getId()).registrationDate(20300L).build());
+    tournamentRepository.findById(tournament.getId()).orElseThrow();
+    statistics.clear();
+
+    tournamentRepository.findById(tournament.getId()).orElseThrow();
+    tournamentRepository.findById(tournament.getId()).orElseThrow();
+    assertEquals(0, statistics.getEntityLoadCount());
+    assertTrue(statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.TOURNAMENT_REGION).getHitCount() >= 2);
+    assertTrue(meterRegistry.get("hibernate.second.level.cache.requests")
+        .tag("region", SecondLevelCacheConfig.TOURNAMENT_REGION)
+        .tag("result", "hit")
+        .functionCounter().count() >= 2);
+
+    assertEquals(1, playerRepository.findPlayersByTournamentId(tournament.getId()).size());
+    assertEquals(1, playerRepository.findPlayersByTournamentId(tournament.getId()).size());
+    assertEquals(1, statistics.getQueryCacheHitCount());
+
+    // A new registration invalidates the cached roster
+    playerRepository.save(Player.builder().name("Aaron").tournamentId(tournament.getId()).registrationDate(20300L).build());
+    assertEquals(2, playerRepository.findPlayersByTournamentId(tournament.getId()).size());
+  }
+
+  @Test
+  void testBulkWritesOnlyEvictTheRowsTheyWrite() {
+    Tournament patched = save(TournamentStatus.UPCOMING);
+    Tournament other = save(TournamentStatus.UPCOMING);
+    Player deleted = playerRepository.save(Player.builder().name("Danna").tournamentId(other.getId()).registrationDate(20300L).build());
+    Player kept = playerRepository.save(Player.builder().name("Aaron").tournamentId(other.getId()).registrationDate(20300L).build());
+    tournamentRepository.findById(patched.getId()).orElseThrow();
+    tournamentRepository.findById(other.getId()).orElseThrow();
+    playerRepository.findById(kept.getId()).orElseThrow();
+    assertEquals(2, playerRepository.findPlayersByTournamentId(other.getId()).size());
+
+    assertEquals(1, tournamentRepository.patchUnlessStarted(patched.getId(), "patched", null, null, null, null));
+    assertEquals(1, playerRepository.deleteWithoutLoading(deleted.getId()));
+    statistics.clear();
+
+    assertEquals("patched", tournamentRepository.findById(patched.getId()).orElseThrow().getName());
+    assertEquals(1, statistics.getEntityLoadCount());
+    tournamentRepository.findById(other.getId()).orElseThrow();
+    playerRepository.findById(kept.getId()).orElseThrow();
+    assertEquals(1, statistics.getEntityLoadCount());
+    // The cached roster still went stale with the deletion
+    assertEquals(1, playerRepository.findPlayersByTournamentId(other.getId()).size());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void testFinishedTournamentsAreKeptLonger() {
+    Tournament finished = save(TournamentStatus.FINISHED);
+    Tournament upcoming = save(TournamentStatus.UPCOMING);
+    tournamentRepository.findById(finished.getId());
+    tournamentRepository.findById(upcoming.getId());
+
+    Cache<Object, Object> cache = hibernateCacheManager.getCache(SecondLevelCacheConfig.TOURNAMENT_REGION)
+        .unwrap(Cache.class);
+    VarExpiration<Object, Object> expiration = cache.policy().expireVariably().orElseThrow();
+    Map<Object, Duration> ttls = cache.asMap().keySet().stream()
+        .collect(Collectors.toMap(key -> key, key -> expiration.getExpiresAfter(key).orElseThrow()));
+
+    Duration finishedTtl = ttl(ttls, finished.getId());
+    Duration upcomingTtl = ttl(ttls, upcoming.getId());
+    assertTrue(finishedTtl.compareTo(Duration.ofHours(11)) > 0, finishedTtl.toString());
+    assertTrue(upcomingTtl.compareTo(Duration.ofSeconds(30)) <= 0, upcomingTtl.toString());
+  }
+
+  private static Duration ttl(Map<Object, Duration> ttls, Long id) {
+    return ttls.entrySet().stream()
+        .filter(entry -> entry.getKey().toString().endsWith("#" + id))
+        .map(Map.Entry::getValue)
+        .findFirst().orElseThrow(() -> new AssertionError("No cache entry for " + id + " in " + ttls.keySet()));
+  }
+
+  private Tournament save(TournamentStatus status) {
+    return tournamentRepository.save(Tournament.builder()
+        .name("cached")
+        .gameTitle("cached game")
+        .maxPlayers(5)
+        .startDate(LocalDate.now().toEpochDay())
+        .status(status)
+        .build());
+  }
+}
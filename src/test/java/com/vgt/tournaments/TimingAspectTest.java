@@ -0,0 +1,47 @@
+package com.vgt.tournaments;
+
+import com.vgt.tournaments.metrics.TimingAspect;
+import com.vgt.tournaments.services.TournamentService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class TimingAspectTest {
+
+  @Autowired
+  TournamentService tournamentService;
+
+  @Autowired
+  MeterRegistry meterRegistry;
+
+  @Test
+  void testServiceAndRepositoryCallsAreTimedByOutcome() {
+
+    tournamentService.findAll();
+    assertThrows(EntityNotFoundException.class, () -> tournamentService.findById(-1L));
+
+    Timer success = meterRegistry.get(TimingAspect.SERVICE_TIMER)
+        .tag("component", "TournamentService")
+        .tag("operation", "findAll")
+        .tag("outcome", "success")
+        .timer();
+    Timer notFound = meterRegistry.get(TimingAspect.SERVICE_TIMER)
+        .tag("operation", "findById")
+        .tag("outcome", "EntityNotFoundException")
+        .timer();
+    Timer repository = meterRegistry.get(TimingAspect.REPOSITORY_TIMER)
+        .tag("component", "TournamentRepository")
+        .tag("operation", "findById")
+        .timer();
+
+    assertTrue(success.count() >= 1);
+    assertTrue(notFound.count() >= 1);
+    assertTrue(repository.count() >= 1);
+  }
+}
@@ -0,0 +1,127 @@
+package com.vgt.tournaments;
+
+import com.vgt.tournaments.domain.Tournament;
+import com.vgt.tournaments.domain.enums.TournamentStatus;
+import com.vgt.tournaments.dto.UpdateTournamentDto;
+import com.vgt.tournaments.repositories.TournamentRepository;
+import com.vgt.tournaments.services.TournamentService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+class TournamentCacheTest {
+
+  @MockitoBean
+  TournamentRepository tournamentRepository;
+
+  @Autowired
+  TournamentService tournamentService;
+
+  @Autowired
+  CacheManager cacheManager;
+
+  @Autowired
+  MeterRegistry meterRegistry;
+
+  @Autowired
+  TransactionTemplate transactionTemplate;
+
+  private final Tournament tournament = Tournament.builder()
+      .id(1L)
+      .name("Camilo Rubio")
+      .gameTitle("second tournament")
+      .maxPlayers(5)
+      .startDate(212L)
+      .status(TournamentStatus.UPCOMING)
+      .build();
+
+  @BeforeEach
+  void clearCache() {
+    cacheManager.getCache(TournamentService.TOURNAMENTS_CACHE).clear();
+  }
+
+  @Test
+  void testFindByIdIsServedFromCache() {
+
+    when(tournamentRepository.findById(1L)).thenReturn(Optional.of(tournament));
+
+    tournamentService.findById(1L);
+    tournamentService.findById(1L);
+    tournamentService.findById(1L);
+
+    verify(tournamentRepository, times(1)).findById(1L);
+    assertTrue(meterRegistry.get("cache.gets")
+        .tag("cache", TournamentService.TOURNAMENTS_CACHE)
+        .tag("result", "hit")
+        .functionCounter().count() >= 2);
+  }
+
+  @Test
+  void testUpdateEvictsCachedTournament() {
+
+    Tournament started = tournament.toBuilder().status(TournamentStatus.STARTED).build();
+
+    when(tournamentRepository.findById(1L))
+        .thenReturn(Optional.of(tournament))
+        .thenReturn(Optional.of(tournament))
+        .thenReturn(Optional.of(started));
+    when(tournamentRepository.save(any())).thenReturn(started);
+
+    tournamentService.findById(1L);
+    tournamentService.update(1L, UpdateTournamentDto.builder()
+        .name("Camilo Rubio")
+        .gameTitle("second tournament")
+        .maxPlayers(5)
+        .startDate(LocalDate.now())
+        .status(TournamentStatus.STARTED)
+        .build());
+
+    assertEquals(TournamentStatus.STARTED, tournamentService.findById(1L).getStatus());
+  }
+
+  @Test
+  void testEvictionWaitsForTheCommitOfAnOuterTransaction() {
+
+    when(tournamentRepository.findById(1L)).thenReturn(Optional.of(tournament));
+    when(tournamentRepository.save(any())).thenReturn(tournament);
+
+    transactionTemplate.executeWithoutResult(status -> {
+      tournamentService.update(1L, UpdateTournamentDto.builder()
+          .name("Camilo Rubio")
+          .gameTitle("second tournament")
+          .maxPlayers(8)
+          .startDate(LocalDate.now())
+          .build());
+      // A read before the commit still sees the old row and caches it
+      tournamentService.findById(1L);
+    });
+
+    assertNull(cacheManager.getCache(TournamentService.TOURNAMENTS_CACHE).get(1L));
+  }
+
+  @Test
+  void testDeleteEvictsCachedTournament() {
+
+    when(tournamentRepository.findById(1L)).thenReturn(Optional.of(tournament));
+
+    tournamentService.findById(1L);
+    tournamentService.delete(1L);
+
+    assertNull(cacheManager.getCache(TournamentService.TOURNAMENTS_CACHE).get(1L));
+  }
+}
@@ -0,0 +1,88 @@
+package com.vgt.tournaments;
+
+import com.vgt.tournaments.domain.Tournament;
+import com.vgt.tournaments.domain.enums.TournamentStatus;
+import com.vgt.tournaments.dto.CreateTournamentDto;
+import com.vgt.tournaments.dto.UpdateTournamentDto;
+import com.vgt.tournaments.services.TournamentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TournamentEtagTest {
+
+  @Autowired
+  MockMvc mockMvc;
+
+  @Autowired
+  TournamentService tournamentService;
+
+  @Test
+  void testTournamentIsNotResentUntilItChanges() throws Exception {
+
+    Tournament tournament = tournamentService.create(CreateTournamentDto.builder()
+        .name("juan")
+        .gameTitle("first tournament")
+        .maxPlayers(5)
+        .startDate(LocalDate.now().plusDays(3))
+        .build());
+    String url = "/api/tournaments/" + tournament.getId();
+
+    String etag = mockMvc.perform(get(url))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"0.0\""))
+        .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+    mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isNotModified())
+        .andExpect(content().string(""));
+
+    tournamentService.update(tournament.getId(), UpdateTournamentDto.builder()
+        .name("juan camilo")
+        .gameTitle("first tournament")
+        .maxPlayers(8)
+        .startDate(LocalDate.now().plusDays(3))
+        .status(TournamentStatus.UPCOMING)
+        .build());
+
+    mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"1.0\""));
+  }
+
+  @Test
+  void testListingIsNotResentUntilATournamentChanges() throws Exception {
+
+    String etag = mockMvc.perform(get("/api/tournaments"))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+    mockMvc.perform(get("/api/tournaments").header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isNotModified());
+
+    tournamentService.create(CreateTournamentDto.builder()
+        .name("camilo")
+        .gameTitle("second tournament")
+        .maxPlayers(5)
+        .startDate(LocalDate.now().plusDays(3))
+        .build());
+
+    String changed = mockMvc.perform(get("/api/tournaments").header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    assertNotEquals(etag, changed);
+  }
+}
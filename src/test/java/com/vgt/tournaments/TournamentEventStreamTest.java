@@ -0,0 +1,88 @@
+package com.vgt.tournaments;
+
+import com.vgt.tournaments.domain.Tournament;
+import com.vgt.tournaments.domain.enums.TournamentStatus;
+import com.vgt.tournaments.dto.CreateTournamentDto;
+import com.vgt.tournaments.dto.UpdateTournamentDto;
+import com.vgt.tournaments.events.TournamentEventBroadcaster;
+import com.vgt.tournaments.services.TournamentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TournamentEventStreamTest {
+
+  @Autowired
+  MockMvc mockMvc;
+
+  @Autowired
+  TournamentService tournamentService;
+
+  @Autowired
+  TournamentEventBroadcaster eventBroadcaster;
+
+  @Test
+  void testSubscribersReceiveUpdatesUntilTheTournamentIsDeleted() throws Exception {
+
+    Tournament tournament = tournamentService.create(CreateTournamentDto.builder()
+        .name("juan")
+        .gameTitle("first tournament")
+        .maxPlayers(5)
+        .startDate(LocalDate.now().plusDays(3))
+        .build());
+
+    MvcResult first = subscribe(tournament.getId());
+    MvcResult second = subscribe(tournament.getId());
+
+    tournamentService.update(tournament.getId(), UpdateTournamentDto.builder()
+        .name("juan camilo")
+        .gameTitle("first tournament")
+        .maxPlayers(8)
+        .startDate(LocalDate.now().plusDays(3))
+        .status(TournamentStatus.UPCOMING)
+        .build());
+
+    await(() -> content(first).contains("event:UPDATED") && content(second).contains("event:UPDATED"));
+    assertTrue(content(first).contains("\"name\":\"juan camilo\""));
+
+    int before = eventBroadcaster.subscribers();
+    tournamentService.delete(tournament.getId());
+
+    await(() -> content(first).contains("event:DELETED") && content(second).contains("event:DELETED"));
+    await(() -> eventBroadcaster.subscribers() == before - 2);
+  }
+
+  private MvcResult subscribe(Long id) throws Exception {
+    return mockMvc.perform(get("/api/tournaments/{id}/events", id))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+  }
+
+  private static String content(MvcResult result) {
+    try {
+      return result.getResponse().getContentAsString();
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static void await(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5_000;
+    while (!condition.getAsBoolean()) {
+      assertTrue(System.currentTimeMillis() < deadline, "Timed out waiting for the event stream");
+      Thread.sleep(20);
+    }
+  }
+}
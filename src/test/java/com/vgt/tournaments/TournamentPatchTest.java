@@ -0,0 +1,77 @@
+package com.vgt.tournaments;
+
+import com.vgt.tournaments.domain.Tournament;
+import com.vgt.tournaments.domain.enums.TournamentStatus;
+import com.vgt.tournaments.dto.CreateTournamentDto;
+import com.vgt.tournaments.dto.PatchTournamentDto;
+import com.vgt.tournaments.repositories.TournamentRepository;
+import com.vgt.tournaments.services.TournamentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class TournamentPatchTest {
+
+  @Autowired
+  TournamentService tournamentService;
+
+  @Autowired
+  TournamentRepository tournamentRepository;
+
+  @Autowired
+  JdbcTemplate jdbcTemplate;
+
+  @Test
+  void testPatchChangesOnlyProvidedFieldsUntilTheTournamentStarts() {
+    Tournament tournament = tournamentService.create(CreateTournamentDto.builder()
+        .name("juan")
+        .gameTitle("first tournament")
+        .maxPlayers(5)
+        .startDate(LocalDate.now().plusDays(3))
+        .build());
+
+    assertTrue(tournamentService.patch(tournament.getId(), PatchTournamentDto.builder()
+        .name("juan camilo")
+        .build()).applied());
+
+    Tournament patched = tournamentService.findById(tournament.getId());
+    assertEquals("juan camilo", patched.getName());
+    assertEquals("first tournament", patched.getGameTitle());
+    assertEquals(5, patched.getMaxPlayers());
+    assertEquals(tournament.getStartDate(), patched.getStartDate());
+    assertEquals(tournament.getVersion() + 1, patched.getVersion());
+
+    assertFalse(tournamentService.patch(tournament.getId(), PatchTournamentDto.builder().build()).applied());
+    assertEquals(patched.getVersion(), tournamentRepository.findById(tournament.getId()).orElseThrow().getVersion());
+
+    // Players imported before the start, the maximum can not go below them
+    jdbcTemplate.update("update tournament set registered_players = 3 where id = ?", tournament.getId());
+    assertFalse(tournamentService.patch(tournament.getId(), PatchTournamentDto.builder()
+        .maxPlayers(2)
+        .build()).applied());
+    assertTrue(tournamentService.patch(tournament.getId(), PatchTournamentDto.builder()
+        .maxPlayers(3)
+        .build()).applied());
+    assertTrue(tournamentService.patch(tournament.getId(), PatchTournamentDto.builder()
+        .maxPlayers(5)
+        .build()).applied());
+
+    assertTrue(tournamentService.patch(tournament.getId(), PatchTournamentDto.builder()
+        .status(TournamentStatus.STARTED)
+        .build()).applied());
+    assertFalse(tournamentService.patch(tournament.getId(), PatchTournamentDto.builder()
+        .maxPlayers(8)
+        .build()).applied());
+    assertEquals(5, tournamentRepository.findById(tournament.getId()).orElseThrow().getMaxPlayers());
+
+    assertFalse(tournamentService.patch(Long.MAX_VALUE, PatchTournamentDto.builder().name("nobody").build()).applied());
+  }
+}
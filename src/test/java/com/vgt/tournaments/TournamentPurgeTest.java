@@ -0,0 +1,99 @@
+package com.vgt.tournaments;
+
+import com.vgt.tournaments.domain.Player;
+import com.vgt.tournaments.domain.Tournament;
+import com.vgt.tournaments.domain.enums.TournamentStatus;
+import com.vgt.tournaments.dto.TournamentPurgeResult;
+import com.vgt.tournaments.repositories.PlayerRepository;
+import com.vgt.tournaments.repositories.TournamentRepository;
+import com.vgt.tournaments.services.TournamentPurger;
+import com.vgt.tournaments.services.TournamentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:purge",
+    "tournaments.purge.chunk-size=2"
+})
+class TournamentPurgeTest {
+
+  @Autowired
+  TournamentPurger tournamentPurger;
+
+  @Autowired
+  TournamentService tournamentService;
+
+  @Autowired
+  TournamentRepository tournamentRepository;
+
+  @Autowired
+  PlayerRepository playerRepository;
+
+  @Test
+  void testPurgeRemovesMatchingTournamentsAndTheirPlayersInChunks() {
+    LocalDate cutoff = LocalDate.now().minusDays(30);
+    List<Tournament> old = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      old.add(save(TournamentStatus.FINISHED, cutoff.minusDays(i + 1), 2));
+    }
+    Tournament recent = save(TournamentStatus.FINISHED, cutoff, 1);
+    Tournament upcoming = save(TournamentStatus.UPCOMING, cutoff.minusDays(1), 1);
+
+    TournamentPurgeResult result = tournamentPurger.purge(TournamentStatus.FINISHED, cutoff);
+
+    assertEquals(new TournamentPurgeResult(5, 10), result);
+    old.forEach(tournament -> {
+      assertFalse(tournamentRepository.existsById(tournament.getId()));
+      assertEquals(0, playerRepository.countByTournamentId(tournament.getId()));
+    });
+    assertTrue(tournamentRepository.existsById(recent.getId()));
+    assertEquals(1, playerRepository.countByTournamentId(recent.getId()));
+    assertTrue(tournamentRepository.existsById(upcoming.getId()));
+
+    assertEquals(new TournamentPurgeResult(0, 0), tournamentPurger.purge(TournamentStatus.FINISHED, cutoff));
+  }
+
+  @Test
+  void testPurgeRefusesStartedTournaments() {
+    assertThrows(IllegalArgumentException.class,
+        () -> tournamentPurger.purge(TournamentStatus.STARTED, LocalDate.now()));
+  }
+
+  @Test
+  void testDeleteRemovesThePlayersOfTheTournament() {
+    Tournament tournament = save(TournamentStatus.UPCOMING, LocalDate.now().plusDays(3), 3);
+
+    tournamentService.delete(tournament.getId());
+
+    assertFalse(tournamentRepository.existsById(tournament.getId()));
+    assertEquals(0, playerRepository.countByTournamentId(tournament.getId()));
+  }
+
+  private Tournament save(TournamentStatus status, LocalDate startDate, int players) {
+    Tournament tournament = tournamentRepository.save(Tournament.builder()
+        .name("purge")
+        .gameTitle("purge game")
+        .maxPlayers(10)
+        .startDate(startDate.toEpochDay())
+        .status(status)
+        .build());
+    for (int i = 0; i < players; i++) {
+      playerRepository.save(Player.builder()
+          .name("player " + i)
+          .tournamentId(tournament.getId())
+          .registrationDate(startDate.toEpochDay())
+          .build());
+    }
+    return tournament;
+  }
+}
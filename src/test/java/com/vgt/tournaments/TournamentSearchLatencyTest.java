@@ -0,0 +1,82 @@
+package com.vgt.tournaments;
+
+import com.vgt.tournaments.domain.Tournament;
+import com.vgt.tournaments.domain.enums.TournamentStatus;
+import com.vgt.tournaments.events.TournamentChangedEvent;
+import com.vgt.tournaments.events.TournamentChangedEvent.ChangeType;
+import com.vgt.tournaments.repositories.TournamentRepository;
+import com.vgt.tournaments.search.TournamentSearchService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Search latency, heap cost per tournament and update cost of the prefix index with 200k
+ * tournaments. Run with {@code mvn test -Pperf}.
+ */
+@Tag("perf")
+class TournamentSearchLatencyTest {
+
+  private static final int TOURNAMENTS = 200_000;
+  private static final int SAMPLES = 200_000;
+  private static final String[] WORDS = {"spring", "summer", "autumn", "winter", "chess", "cup", "league",
+      "open", "masters", "street", "fighter", "smash", "rocket", "kart", "tekken", "regional", "national"};
+
+  @Test
+  void searchLatency() {
+    Random random = new Random(42);
+    TournamentSearchService searchService =
+        new TournamentSearchService(mock(TournamentRepository.class), mock(TransactionTemplate.class));
+
+    System.gc();
+    long heapBefore = usedHeap();
+    long start = System.nanoTime();
+    for (long id = 1; id <= TOURNAMENTS; id++) {
+      searchService.onTournamentChanged(TournamentChangedEvent.of(ChangeType.CREATED, Tournament.builder()
+          .id(id)
+          .name(word(random) + " " + word(random) + " " + id)
+          .gameTitle(word(random) + " " + word(random))
+          .startDate(20000L + random.nextInt(365))
+          .status(TournamentStatus.values()[random.nextInt(3)])
+          .build()));
+    }
+    long indexNanos = System.nanoTime() - start;
+    System.gc();
+    long heapAfter = usedHeap();
+
+    String[] prefixes = new String[SAMPLES];
+    for (int i = 0; i < SAMPLES; i++) {
+      String word = word(random);
+      prefixes[i] = word.substring(0, 1 + random.nextInt(word.length()));
+    }
+    for (int i = 0; i < SAMPLES; i++) {
+      searchService.search(prefixes[i], 10);
+    }
+    long[] nanos = new long[SAMPLES];
+    for (int i = 0; i < SAMPLES; i++) {
+      long sent = System.nanoTime();
+      searchService.search(prefixes[i], 10);
+      nanos[i] = System.nanoTime() - sent;
+    }
+    Arrays.sort(nanos);
+
+    System.out.printf("indexed %d tournaments in %d ms, ~%d bytes per tournament%n",
+        TOURNAMENTS, indexNanos / 1_000_000, (heapAfter - heapBefore) / TOURNAMENTS);
+    System.out.printf("search p50 %.1f us  p99 %.1f us  p99.9 %.1f us%n",
+        nanos[SAMPLES / 2] / 1e3, nanos[SAMPLES * 99 / 100] / 1e3, nanos[SAMPLES * 999 / 1000] / 1e3);
+  }
+
+  private static String word(Random random) {
+    return WORDS[random.nextInt(WORDS.length)];
+  }
+
+  private static long usedHeap() {
+    Runtime runtime = Runtime.getRuntime();
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
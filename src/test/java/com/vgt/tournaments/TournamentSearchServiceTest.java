@@ -0,0 +1,103 @@
+package com.vgt.tournaments;
+
+import com.vgt.tournaments.domain.Tournament;
+import com.vgt.tournaments.domain.enums.TournamentStatus;
+import com.vgt.tournaments.dto.TournamentSuggestion;
+import com.vgt.tournaments.events.TournamentChangedEvent;
+import com.vgt.tournaments.events.TournamentChangedEvent.ChangeType;
+import com.vgt.tournaments.repositories.TournamentRepository;
+import com.vgt.tournaments.search.TournamentSearchService;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class TournamentSearchServiceTest {
+
+  private final TournamentSearchService searchService =
+      new TournamentSearchService(mock(TournamentRepository.class), mock(TransactionTemplate.class));
+
+  @Test
+  void testFindsTournamentsByAnyWordPrefixIgnoringCase() {
+    created(1L, "Spring Chess Cup", "Chess", TournamentStatus.UPCOMING, 20300L);
+    created(2L, "Winter League", "Street Fighter", TournamentStatus.UPCOMING, 20300L);
+
+    assertEquals(List.of(1L), ids("spr"));
+    assertEquals(List.of(1L), ids("CUP"));
+    assertEquals(List.of(1L), ids("chess c"));
+    assertEquals(List.of(2L), ids("fig"));
+    assertTrue(ids("polo").isEmpty());
+  }
+
+  @Test
+  void testRanksLiveThenUpcomingThenFinished() {
+    created(1L, "Chess finished", "Chess", TournamentStatus.FINISHED, 20100L);
+    created(2L, "Chess later", "Chess", TournamentStatus.UPCOMING, 20400L);
+    created(3L, "Chess live", "Chess", TournamentStatus.STARTED, 20200L);
+    created(4L, "Chess sooner", "Chess", TournamentStatus.UPCOMING, 20300L);
+
+    assertEquals(List.of(3L, 4L, 2L, 1L), ids("chess"));
+  }
+
+  @Test
+  void testFollowsUpdatesAndDeletes() {
+    created(1L, "Spring Cup", "Chess", TournamentStatus.UPCOMING, 20300L);
+
+    searchService.onTournamentChanged(TournamentChangedEvent.of(ChangeType.UPDATED,
+        tournament(1L, "Autumn Cup", "Chess", TournamentStatus.UPCOMING, 20300L)));
+    assertTrue(ids("spring").isEmpty());
+    assertEquals(List.of(1L), ids("autumn"));
+
+    searchService.onTournamentChanged(TournamentChangedEvent.of(ChangeType.DELETED,
+        tournament(1L, "Autumn Cup", "Chess", TournamentStatus.UPCOMING, 20300L)));
+    assertTrue(ids("autumn").isEmpty());
+    assertEquals(0, searchService.size());
+  }
+
+  @Test
+  void testRefillsTheTopWhenABestMatchIsDeleted() {
+    for (long id = 1; id <= TournamentSearchService.MAX_LIMIT + 5; id++) {
+      created(id, "Chess " + id, "Chess", TournamentStatus.UPCOMING, 20000L + id);
+    }
+
+    searchService.onTournamentChanged(TournamentChangedEvent.of(ChangeType.DELETED,
+        tournament(1L, "Chess 1", "Chess", TournamentStatus.UPCOMING, 20001L)));
+
+    List<Long> found = ids("ch");
+    assertEquals(TournamentSearchService.MAX_LIMIT, found.size());
+    assertEquals(2L, found.get(0));
+    assertEquals(TournamentSearchService.MAX_LIMIT + 1L, found.get(found.size() - 1));
+  }
+
+  @Test
+  void testRejectsBlankPrefix() {
+    assertThrows(IllegalArgumentException.class, () -> searchService.search(" ", 10));
+  }
+
+  private List<Long> ids(String prefix) {
+    return searchService.search(prefix, TournamentSearchService.MAX_LIMIT).stream()
+        .map(TournamentSuggestion::id)
+        .toList();
+  }
+
+  private void created(Long id, String name, String gameTitle, TournamentStatus status, Long startDate) {
+    searchService.onTournamentChanged(TournamentChangedEvent.of(ChangeType.CREATED,
+        tournament(id, name, gameTitle, status, startDate)));
+  }
+
+  private static Tournament tournament(Long id, String name, String gameTitle, TournamentStatus status, Long startDate) {
+    return Tournament.builder()
+        .id(id)
+        .name(name)
+        .gameTitle(gameTitle)
+        .maxPlayers(8)
+        .startDate(startDate)
+        .status(status)
+        .build();
+  }
+}
@@ -3,12 +3,19 @@ package com.vgt.tournaments;
 import com.vgt.tournaments.domain.Tournament;
 import com.vgt.tournaments.domain.enums.TournamentStatus;
 import com.vgt.tournaments.dto.CreateTournamentDto;
+import com.vgt.tournaments.dto.PatchTournamentDto;
+import com.vgt.tournaments.dto.TournamentFilter;
+import com.vgt.tournaments.dto.TournamentPage;
+import com.vgt.tournaments.dto.TournamentPatchResult;
 import com.vgt.tournaments.dto.UpdateTournamentDto;
 import com.vgt.tournaments.repositories.TournamentRepository;
 import com.vgt.tournaments.services.TournamentService;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.data.jpa.domain.Specification;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -25,7 +32,7 @@ public class TournamentServiceTest {
   void testCreateSuccess() {
 
     TournamentRepository tournamentRepository = mock(TournamentRepository.class);
-    TournamentService tournamentService = new TournamentService(tournamentRepository);
+    TournamentService tournamentService = new TournamentService(tournamentRepository, mock(ApplicationEventPublisher.class));
 
 
       CreateTournamentDto dto = CreateTournamentDto.builder()
@@ -58,7 +65,7 @@ public class TournamentServiceTest {
 
 
       TournamentRepository tournamentRepository = mock(TournamentRepository.class);
-      TournamentService tournamentService = new TournamentService(tournamentRepository);
+      TournamentService tournamentService = new TournamentService(tournamentRepository, mock(ApplicationEventPublisher.class));
 
       CreateTournamentDto dto = CreateTournamentDto.builder()
           .name("juan")
@@ -83,7 +90,7 @@ public class TournamentServiceTest {
 
 
       TournamentRepository tournamentRepository = mock(TournamentRepository.class);
-      TournamentService tournamentService = new TournamentService(tournamentRepository);
+      TournamentService tournamentService = new TournamentService(tournamentRepository, mock(ApplicationEventPublisher.class));
 
       CreateTournamentDto dto = CreateTournamentDto.builder()
           .name("juan")
@@ -108,7 +115,7 @@ public class TournamentServiceTest {
 
 
       TournamentRepository tournamentRepository = mock(TournamentRepository.class);
-      TournamentService tournamentService = new TournamentService(tournamentRepository);
+      TournamentService tournamentService = new TournamentService(tournamentRepository, mock(ApplicationEventPublisher.class));
 
       CreateTournamentDto dto = CreateTournamentDto.builder()
           .name("juan")
@@ -134,7 +141,7 @@ public class TournamentServiceTest {
   void testFindAllSuccess() {
 
     TournamentRepository tournamentRepository = mock(TournamentRepository.class);
-    TournamentService tournamentService = new TournamentService(tournamentRepository);
+    TournamentService tournamentService = new TournamentService(tournamentRepository, mock(ApplicationEventPublisher.class));
 
     when(tournamentRepository
         .findAll())
@@ -152,11 +159,47 @@ public class TournamentServiceTest {
     assertEquals(foundTournaments.size(), 1);
   }
 
+  @Test
+  void testFindPageReturnsNextCursor() {
+
+    TournamentRepository tournamentRepository = mock(TournamentRepository.class);
+    TournamentService tournamentService = new TournamentService(tournamentRepository, mock(ApplicationEventPublisher.class));
+
+    List<Tournament> rows = List.of(
+        Tournament.builder().id(4L).name("a").status(TournamentStatus.UPCOMING).build(),
+        Tournament.builder().id(7L).name("b").status(TournamentStatus.UPCOMING).build(),
+        Tournament.builder().id(9L).name("c").status(TournamentStatus.UPCOMING).build());
+
+    when(tournamentRepository
+        .findBy(ArgumentMatchers.<Specification<Tournament>>any(), any()))
+        .thenReturn(rows);
+
+    TournamentPage page = tournamentService.findPage(3L, 2, TournamentFilter.builder()
+        .status(TournamentStatus.UPCOMING)
+        .build());
+
+    assertEquals(2, page.items().size());
+    assertEquals(7L, page.nextCursor());
+  }
+
+  @Test
+  void testFindPageFailButSize() {
+
+    TournamentRepository tournamentRepository = mock(TournamentRepository.class);
+    TournamentService tournamentService = new TournamentService(tournamentRepository, mock(ApplicationEventPublisher.class));
+
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> tournamentService.findPage(null, 0, TournamentFilter.builder().build()));
+
+    assertEquals("The page size must be between 1 and 500", exception.getMessage());
+    verifyNoInteractions(tournamentRepository);
+  }
+
   @Test
   void testFindByIdSuccess() {
 
     TournamentRepository tournamentRepository = mock(TournamentRepository.class);
-    TournamentService tournamentService = new TournamentService(tournamentRepository);
+    TournamentService tournamentService = new TournamentService(tournamentRepository, mock(ApplicationEventPublisher.class));
 
     Tournament tournament = Tournament.builder()
         .id(1L)
@@ -180,7 +223,7 @@ public class TournamentServiceTest {
   void testFindByIdFail() {
 
     TournamentRepository tournamentRepository = mock(TournamentRepository.class);
-    TournamentService tournamentService = new TournamentService(tournamentRepository);
+    TournamentService tournamentService = new TournamentService(tournamentRepository, mock(ApplicationEventPublisher.class));
 
     when(tournamentRepository
         .findById(1L))
@@ -195,7 +238,7 @@ public class TournamentServiceTest {
   void testDeleteSuccess() {
 
     TournamentRepository tournamentRepository = mock(TournamentRepository.class);
-    TournamentService tournamentService = new TournamentService(tournamentRepository);
+    TournamentService tournamentService = new TournamentService(tournamentRepository, mock(ApplicationEventPublisher.class));
 
     Tournament tournament = Tournament.builder()
         .id(1L)
@@ -216,14 +259,17 @@ public class TournamentServiceTest {
         .findById(1L);
 
     verify(tournamentRepository, times(1))
-        .delete(any());
+        .deletePlayersOf(List.of(1L));
+
+    verify(tournamentRepository, times(1))
+        .delete(any(Tournament.class));
 
   }
   @Test
   void testDeleteFail() {
 
     TournamentRepository tournamentRepository = mock(TournamentRepository.class);
-    TournamentService tournamentService = new TournamentService(tournamentRepository);
+    TournamentService tournamentService = new TournamentService(tournamentRepository, mock(ApplicationEventPublisher.class));
 
     Tournament tournament = Tournament.builder()
         .id(1L)
@@ -253,7 +299,7 @@ public class TournamentServiceTest {
   void testUpdateSuccess() {
 
     TournamentRepository tournamentRepository = mock(TournamentRepository.class);
-    TournamentService tournamentService = new TournamentService(tournamentRepository);
+    TournamentService tournamentService = new TournamentService(tournamentRepository, mock(ApplicationEventPublisher.class));
 
     UpdateTournamentDto dto = UpdateTournamentDto.builder()
         .name("juan")
@@ -297,7 +343,7 @@ public class TournamentServiceTest {
   void testUpdateFail() throws Exception {
 
     TournamentRepository tournamentRepository = mock(TournamentRepository.class);
-    TournamentService tournamentService = new TournamentService(tournamentRepository);
+    TournamentService tournamentService = new TournamentService(tournamentRepository, mock(ApplicationEventPublisher.class));
 
     UpdateTournamentDto dto = UpdateTournamentDto.builder()
         .name("juan")
@@ -334,4 +380,101 @@ public class TournamentServiceTest {
 
     verifyNoMoreInteractions(tournamentRepository);
   }
+
+  @Test
+  void testUpdateKeepsStartDateWhenOmitted() {
+
+    TournamentRepository tournamentRepository = mock(TournamentRepository.class);
+    TournamentService tournamentService = new TournamentService(tournamentRepository, mock(ApplicationEventPublisher.class));
+
+    UpdateTournamentDto dto = UpdateTournamentDto.builder()
+        .name("juan")
+        .gameTitle("first tournament")
+        .maxPlayers(5)
+        .status(TournamentStatus.UPCOMING)
+        .build();
+
+    Tournament tournament = Tournament.builder()
+        .id(1L)
+        .name("juan camilo")
+        .gameTitle("second tournament")
+        .maxPlayers(5)
+        .startDate(212L)
+        .status(TournamentStatus.UPCOMING)
+        .build();
+
+    when(tournamentRepository.findById(1L)).thenReturn(Optional.of(tournament));
+    when(tournamentRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+    Tournament tournamentUpdate = tournamentService.update(1L, dto);
+
+    assertEquals(212L, tournamentUpdate.getStartDate());
+    assertEquals("juan", tournamentUpdate.getName());
+  }
+
+  @Test
+  void testPatchSuccess() {
+
+    TournamentRepository tournamentRepository = mock(TournamentRepository.class);
+    ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    TournamentService tournamentService = new TournamentService(tournamentRepository, eventPublisher);
+
+    Tournament patched = Tournament.builder()
+        .id(1L)
+        .name("juan")
+        .status(TournamentStatus.UPCOMING)
+        .build();
+
+    when(tournamentRepository.patchUnlessStarted(1L, "juan", null, null, null, null)).thenReturn(1);
+    when(tournamentRepository.findById(1L)).thenReturn(Optional.of(patched));
+
+    TournamentPatchResult result = tournamentService.patch(1L, PatchTournamentDto.builder().name("juan").build());
+
+    assertTrue(result.applied());
+    verify(tournamentRepository, times(1)).patchUnlessStarted(1L, "juan", null, null, null, null);
+    verify(eventPublisher, times(1)).publishEvent(any(Object.class));
+    verify(tournamentRepository, never()).save(any());
+  }
+
+  @Test
+  void testPatchNotAppliedPublishesNothing() {
+
+    TournamentRepository tournamentRepository = mock(TournamentRepository.class);
+    ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    TournamentService tournamentService = new TournamentService(tournamentRepository, eventPublisher);
+
+    when(tournamentRepository.patchUnlessStarted(1L, "juan", null, null, null, null)).thenReturn(0);
+
+    TournamentPatchResult result = tournamentService.patch(1L, PatchTournamentDto.builder().name("juan").build());
+
+    assertFalse(result.applied());
+    verify(tournamentRepository, never()).findById(any());
+    verifyNoInteractions(eventPublisher);
+  }
+
+  @Test
+  void testEmptyPatchWritesNothing() {
+
+    TournamentRepository tournamentRepository = mock(TournamentRepository.class);
+    ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    TournamentService tournamentService = new TournamentService(tournamentRepository, eventPublisher);
+
+    TournamentPatchResult result = tournamentService.patch(1L, PatchTournamentDto.builder().build());
+
+    assertFalse(result.applied());
+    verifyNoInteractions(tournamentRepository, eventPublisher);
+  }
+
+  @Test
+  void testPatchFailButMaxPlayers() {
+
+    TournamentRepository tournamentRepository = mock(TournamentRepository.class);
+    TournamentService tournamentService = new TournamentService(tournamentRepository, mock(ApplicationEventPublisher.class));
+
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> tournamentService.patch(1L, PatchTournamentDto.builder().maxPlayers(1).build()));
+
+    assertEquals("The minimum number of players is 2", exception.getMessage());
+    verifyNoInteractions(tournamentRepository);
+  }
 }
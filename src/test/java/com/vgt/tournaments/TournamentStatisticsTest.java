@@ -0,0 +1,62 @@
+package com.vgt.tournaments;
+
+import com.vgt.tournaments.domain.Tournament;
+import com.vgt.tournaments.domain.enums.TournamentStatus;
+import com.vgt.tournaments.dto.CreatePlayerDto;
+import com.vgt.tournaments.dto.CreateTournamentDto;
+import com.vgt.tournaments.dto.TournamentStats;
+import com.vgt.tournaments.dto.UpdateTournamentDto;
+import com.vgt.tournaments.services.PlayerService;
+import com.vgt.tournaments.services.TournamentService;
+import com.vgt.tournaments.services.TournamentStatistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:statistics")
+class TournamentStatisticsTest {
+
+  @Autowired
+  TournamentStatistics tournamentStatistics;
+
+  @Autowired
+  TournamentService tournamentService;
+
+  @Autowired
+  PlayerService playerService;
+
+  @Test
+  void testCountersFollowChangesAndAgreeWithARecount() {
+    TournamentStats before = tournamentStatistics.stats();
+
+    Tournament tournament = tournamentService.create(CreateTournamentDto.builder()
+        .name("stats")
+        .gameTitle("stats game")
+        .maxPlayers(5)
+        .startDate(LocalDate.now().plusDays(3))
+        .build());
+    tournamentService.update(tournament.getId(), UpdateTournamentDto.builder()
+        .name("stats")
+        .gameTitle("stats game")
+        .maxPlayers(5)
+        .startDate(LocalDate.now())
+        .status(TournamentStatus.STARTED)
+        .build());
+    playerService.create(CreatePlayerDto.builder().name("Danna").tournamentId(tournament.getId()).build());
+
+    TournamentStats after = tournamentStatistics.stats();
+    assertEquals(before.tournaments() + 1, after.tournaments());
+    assertEquals(before.byStatus().get(TournamentStatus.STARTED) + 1, after.byStatus().get(TournamentStatus.STARTED));
+    assertEquals(before.byStatus().get(TournamentStatus.UPCOMING), after.byStatus().get(TournamentStatus.UPCOMING));
+    assertEquals(1L, after.byGameTitle().get("stats game"));
+    assertEquals(before.registeredPlayers() + 1, after.registeredPlayers());
+
+    tournamentStatistics.reconcile();
+
+    assertEquals(after, tournamentStatistics.stats());
+  }
+}
@@ -0,0 +1,89 @@
+package com.vgt.tournaments;
+
+import com.vgt.tournaments.domain.Tournament;
+import com.vgt.tournaments.domain.enums.TournamentStatus;
+import com.vgt.tournaments.events.TournamentChangedEvent;
+import com.vgt.tournaments.events.TournamentChangedEvent.ChangeType;
+import com.vgt.tournaments.repositories.TournamentRepository;
+import com.vgt.tournaments.services.TournamentService;
+import com.vgt.tournaments.services.TournamentStatusScheduler;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TournamentStatusSchedulerTest {
+
+  private final TournamentRepository tournamentRepository = mock(TournamentRepository.class);
+  private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+  private final CacheManager cacheManager = new ConcurrentMapCacheManager(TournamentService.TOURNAMENTS_CACHE);
+  private final TournamentStatusScheduler scheduler = new TournamentStatusScheduler(tournamentRepository,
+      new TransactionTemplate(mock(PlatformTransactionManager.class)), eventPublisher, cacheManager);
+
+  @Test
+  void testStartsOnlyDueTournaments() {
+
+    long today = LocalDate.now().toEpochDay();
+    created(1L, today - 1, TournamentStatus.UPCOMING);
+    created(2L, today, TournamentStatus.UPCOMING);
+    created(3L, today + 1, TournamentStatus.UPCOMING);
+    cacheManager.getCache(TournamentService.TOURNAMENTS_CACHE).put(2L, "cached");
+
+    cacheManager.getCache(TournamentService.TOURNAMENTS_CACHE).put(1L, "cached");
+    // Tournament 1 was started by hand in the meantime, only 2 is still upcoming
+    when(tournamentRepository.lockIdsByIdInAndStatus(List.of(1L, 2L), TournamentStatus.UPCOMING)).thenReturn(List.of(2L));
+    when(tournamentRepository.startUpcoming(any())).thenReturn(1);
+
+    scheduler.startDueTournaments();
+
+    verify(tournamentRepository, times(1)).startUpcoming(List.of(2L));
+    verify(eventPublisher, times(1)).publishEvent(any(TournamentChangedEvent.class));
+    verify(eventPublisher).publishEvent(new TournamentChangedEvent(2L, ChangeType.STATUS_CHANGED, null));
+    assertNull(cacheManager.getCache(TournamentService.TOURNAMENTS_CACHE).get(2L));
+    assertNotNull(cacheManager.getCache(TournamentService.TOURNAMENTS_CACHE).get(1L));
+    assertEquals(1, scheduler.pending());
+  }
+
+  @Test
+  void testUpdatesAndDeletesRescheduleTournaments() {
+
+    long today = LocalDate.now().toEpochDay();
+    created(1L, today, TournamentStatus.UPCOMING);
+    created(2L, today, TournamentStatus.UPCOMING);
+    created(3L, today, TournamentStatus.UPCOMING);
+
+    // Moved to next week, started by hand and deleted: nothing is left to start today
+    scheduler.onTournamentChanged(TournamentChangedEvent.of(ChangeType.UPDATED, tournament(1L, today + 7, TournamentStatus.UPCOMING)));
+    scheduler.onTournamentChanged(TournamentChangedEvent.of(ChangeType.UPDATED, tournament(2L, today, TournamentStatus.STARTED)));
+    scheduler.onTournamentChanged(TournamentChangedEvent.of(ChangeType.DELETED, tournament(3L, today, TournamentStatus.UPCOMING)));
+
+    scheduler.startDueTournaments();
+
+    verify(tournamentRepository, never()).startUpcoming(any());
+    assertEquals(1, scheduler.pending());
+  }
+
+  private void created(Long id, long startDate, TournamentStatus status) {
+    scheduler.onTournamentChanged(TournamentChangedEvent.of(ChangeType.CREATED, tournament(id, startDate, status)));
+  }
+
+  private static Tournament tournament(Long id, long startDate, TournamentStatus status) {
+    return Tournament.builder()
+        .id(id)
+        .name("Aaron Peña")
+        .gameTitle("second tournament")
+        .maxPlayers(5)
+        .startDate(startDate)
+        .status(status)
+        .build();
+  }
+}
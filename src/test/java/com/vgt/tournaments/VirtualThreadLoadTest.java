@@ -0,0 +1,119 @@
+package com.vgt.tournaments;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Throughput and p99 latency of the tournament endpoints with Tomcat on platform threads and on
+ * virtual threads, under the same number of concurrent clients. Run with {@code mvn test -Pperf}.
+ */
+@Tag("perf")
+class VirtualThreadLoadTest {
+
+  private static final int TOURNAMENTS = 2_000;
+  private static final int CONCURRENCY = 1_000;
+  private static final int REQUESTS = 10_000;
+
+  @Test
+  void platformVersusVirtualThreads() throws Exception {
+    for (String mode : List.of("platform", "virtual")) {
+      try (ConfigurableApplicationContext context = start(mode)) {
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        seed(context.getBean(JdbcTemplate.class));
+
+        load(mode, port, "GET /api/tournaments?size=50", id -> "/api/tournaments?size=50&afterId=" + id);
+        load(mode, port, "GET /api/tournaments/{id}", id -> "/api/tournaments/" + id);
+      }
+    }
+  }
+
+  private static ConfigurableApplicationContext start(String mode) {
+    return new SpringApplicationBuilder(TournamentsApplication.class)
+        .profiles("virtual".equals(mode) ? "virtual-threads" : "default")
+        .properties(
+            "server.port=0",
+            "spring.datasource.url=jdbc:h2:mem:load-" + mode,
+            // One client hammering two endpoints is exactly what admission control rejects
+            "tournaments.admission.enabled=false",
+            "logging.level.com.vgt.tournaments=WARN")
+        .run();
+  }
+
+  private static void seed(JdbcTemplate jdbcTemplate) {
+    List<Object[]> rows = new ArrayList<>();
+    for (int i = 0; i < TOURNAMENTS; i++) {
+      rows.add(new Object[]{"load " + i, "game " + (i % 20), 64, LocalDate.now().toEpochDay() + i % 30, "UPCOMING"});
+    }
+    jdbcTemplate.batchUpdate(
+        "INSERT INTO tournament (name, game_title, max_players, start_date, status, version) VALUES (?, ?, ?, ?, ?, 0)", rows);
+  }
+
+  private static void load(String mode, int port, String endpoint, IntFunction<String> path)
+      throws Exception {
+
+    HttpClient client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .build();
+    long[] latencies = new long[REQUESTS];
+    AtomicInteger failures = new AtomicInteger();
+    Semaphore inFlight = new Semaphore(CONCURRENCY);
+
+    long start = System.nanoTime();
+    try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+      List<Future<?>> futures = new ArrayList<>(REQUESTS);
+      for (int i = 0; i < REQUESTS; i++) {
+        int n = i;
+        inFlight.acquire();
+        futures.add(clients.submit(() -> {
+          try {
+            HttpRequest request = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + path.apply(n % TOURNAMENTS + 1))).build();
+            long sent = System.nanoTime();
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            latencies[n] = System.nanoTime() - sent;
+            if (response.statusCode() != 200) {
+              failures.incrementAndGet();
+            }
+          } catch (Exception e) {
+            failures.incrementAndGet();
+          } finally {
+            inFlight.release();
+          }
+          return null;
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    }
+    long elapsed = System.nanoTime() - start;
+
+    Arrays.sort(latencies);
+    System.out.printf("%-8s %-32s %,8.0f req/s  p50 %6.1f ms  p99 %6.1f ms  failures %d%n",
+        mode, endpoint, REQUESTS * 1e9 / elapsed,
+        latencies[REQUESTS / 2] / 1e6, latencies[(int) (REQUESTS * 0.99)] / 1e6, failures.get());
+    assertEquals(0, failures.get());
+  }
+}